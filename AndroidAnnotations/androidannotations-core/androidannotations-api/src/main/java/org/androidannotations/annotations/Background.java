@@ -143,6 +143,86 @@ import java.lang.annotation.Target;
  * 
  * </blockquote>
  * 
+ * <h2>Executor profiles</h2>
+ * <p>
+ * Blocking tasks, such as network calls, may starve CPU-bound tasks sharing the
+ * same executor. You can run them on a dedicated executor by registering it
+ * under a profile name, and referencing this name with the {@link #executor()}
+ * field.
+ * </p>
+ * 
+ * <blockquote>
+ * 
+ * <b>Example</b> :
+ * 
+ * <pre>
+ * &#064;EBean
+ * public class MyBean {
+ * 
+ * 	static {
+ * 		BackgroundExecutor.registerExecutor(&quot;io&quot;, Executors.newCachedThreadPool());
+ * 	}
+ * 
+ * 	&#064;Background(executor = &quot;io&quot;)
+ * 	void download() {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * 
+ * <h2>Backpressure</h2>
+ * <p>
+ * When a method may be called faster than its tasks complete, you can bound
+ * the number of its pending tasks with the {@link #maxPending()} field, and
+ * choose which tasks are dropped with the {@link #overflow()} field.
+ * </p>
+ * 
+ * <blockquote>
+ * 
+ * <b>Example</b> (only the latest search is kept pending) :
+ * 
+ * <pre>
+ * &#064;EBean
+ * public class MyBean {
+ * 
+ * 	&#064;Background(serial = &quot;search&quot;, maxPending = 1)
+ * 	void search(String query) {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * 
+ * <h2>Debounce</h2>
+ * <p>
+ * When only the latest of a burst of calls matters, you can use the
+ * {@link #debounce()} field: the task is executed once the calls having the
+ * same {@link #id()} have stopped for the given period, with the arguments of
+ * the latest call.
+ * </p>
+ * 
+ * <blockquote>
+ * 
+ * <b>Example</b> :
+ * 
+ * <pre>
+ * &#064;EBean
+ * public class MyBean {
+ * 
+ * 	&#064;Background(id = &quot;search&quot;, debounce = 300)
+ * 	void search(String query) {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
  * 
  * <h2>Delay</h2>
  * <p>
@@ -203,4 +283,67 @@ public @interface Background {
 	 * @return the serial execution group
 	 **/
 	String serial() default "";
+
+	/**
+	 * Name of the executor profile running the task.
+	 * 
+	 * The executor of a profile is registered with
+	 * {@link org.androidannotations.api.BackgroundExecutor#registerExecutor(String, java.util.concurrent.Executor)
+	 * BackgroundExecutor.registerExecutor(name, executor)}. Tasks using a profile
+	 * which is not registered are run by the default executor.
+	 * 
+	 * @return the name of the executor profile
+	 */
+	String executor() default "";
+
+	/**
+	 * Maximum number of pending tasks of the group of this task: the tasks having
+	 * the same {@link #serial()} if any, the tasks having the same {@link #id()}
+	 * otherwise. A task is pending until it starts. When the group is full, the
+	 * {@link #overflow()} policy is applied.
+	 * 
+	 * An {@link #id()} or a {@link #serial()} is required to use this field. The
+	 * default value, <code>0</code>, means no limit.
+	 * 
+	 * @return the maximum number of pending tasks
+	 */
+	int maxPending() default 0;
+
+	/**
+	 * Debounce period, in milliseconds. When set, calls having the same
+	 * {@link #id()} are coalesced: the task is executed once no other call has
+	 * been made during this period, with the arguments of the latest call.
+	 * 
+	 * An {@link #id()} is required to use this field, and it cannot be used with
+	 * {@link #delay()} or {@link #maxPending()}. The default value, <code>0</code>,
+	 * means no debounce.
+	 * 
+	 * @return the debounce period
+	 */
+	long debounce() default 0;
+
+	/**
+	 * The policy applied when {@link #maxPending()} tasks of the group of this task
+	 * are already pending.
+	 * 
+	 * @return the overflow policy
+	 */
+	Overflow overflow() default Overflow.DROP_OLDEST;
+
+	/**
+	 * Indicates which tasks are dropped when the pending tasks of a group exceed
+	 * its {@link Background#maxPending() maxPending}.
+	 */
+	enum Overflow {
+
+		/**
+		 * The oldest pending tasks are cancelled. With a <code>maxPending</code> of
+		 * <code>1</code>, only the latest task is kept.
+		 */
+		DROP_OLDEST, //
+		/**
+		 * The new task is not executed.
+		 */
+		DROP_NEWEST
+	}
 }
@@ -28,6 +28,15 @@ import java.lang.annotation.Target;
  * You can specify a specific implementation to inject using the value
  * attribute.
  * </p>
+ * <p>
+ * The injected type can also be a
+ * {@link org.androidannotations.api.bean.Lazy Lazy} or a
+ * {@link org.androidannotations.api.bean.Provider Provider} of the bean: the
+ * bean is then only created when it is first used, instead of when the
+ * enhanced class is initialized. Beans using views, with {@link ViewById} or
+ * {@link AfterViews} for instance, or injecting beans using views cannot be
+ * injected this way.
+ * </p>
  * <blockquote>
  * 
  * Example :
@@ -43,6 +52,9 @@ import java.lang.annotation.Target;
  * 	MyBean myBean2;
  * 
  * 	&#064;Bean
+ * 	Lazy&lt;MyBean&gt; lazyBean;
+ * 
+ * 	&#064;Bean
  * 	void singleInjection(MyBean bean) {
  * 		// do stuff
  * 	}
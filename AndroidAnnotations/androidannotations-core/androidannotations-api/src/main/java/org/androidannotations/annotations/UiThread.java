@@ -163,6 +163,18 @@ public @interface UiThread {
 		REUSE
 	}
 
+	/**
+	 * Debounce period, in milliseconds. When set, calls having the same
+	 * {@link #id()} are coalesced: the method is run once no other call has been
+	 * made during this period, with the arguments of the latest call.
+	 * 
+	 * An {@link #id()} is required to use this field, and it cannot be used with
+	 * {@link #delay()}. The default value, <code>0</code>, means no debounce.
+	 * 
+	 * @return the debounce period
+	 */
+	long debounce() default 0;
+
 	/**
 	 * Identifier for cancellation.
 	 * 
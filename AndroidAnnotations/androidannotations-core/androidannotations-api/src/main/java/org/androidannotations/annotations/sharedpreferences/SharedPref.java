@@ -124,4 +124,28 @@ public @interface SharedPref {
 	 * @return the operating mode
 	 */
 	int mode() default Context.MODE_PRIVATE;
+
+	/**
+	 * The write-behind window, in milliseconds. When positive, the field puts
+	 * and removes are merged and applied together once the window has elapsed,
+	 * instead of being applied one by one.
+	 * 
+	 * @see org.androidannotations.api.sharedpreferences.SharedPreferencesHelper#setWriteBehindWindow(long)
+	 * 
+	 * @return the write-behind window in milliseconds, <code>0</code> to apply
+	 *         each write immediately
+	 */
+	long writeBehindMillis() default 0;
+
+	/**
+	 * Whether the int, boolean, long and float fields keep the value they read
+	 * until it changes, so that reading them again does not hit the
+	 * {@link android.content.SharedPreferences SharedPreferences}.
+	 * 
+	 * @see org.androidannotations.api.sharedpreferences.SharedPreferencesHelper#enableFieldCache()
+	 * 
+	 * @return <code>true</code> to cache the field values, <code>false</code>
+	 *         otherwise
+	 */
+	boolean cached() default false;
 }
@@ -16,16 +16,28 @@
  */
 package org.androidannotations.api;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.androidannotations.annotations.Background;
 
 import android.os.Looper;
 import android.os.SystemClock;
@@ -38,6 +50,11 @@ public final class BackgroundExecutor {
 	public static final Executor DEFAULT_EXECUTOR = Executors.newScheduledThreadPool(2 * Runtime.getRuntime().availableProcessors());
 	private static Executor executor = DEFAULT_EXECUTOR;
 
+	/*
+	 * Executors registered by profile name, see registerExecutor().
+	 */
+	private static final ConcurrentMap<String, Executor> EXECUTORS = new ConcurrentHashMap<>();
+
 	/**
 	 * The default invocation handler for wrong thread execution. It just throws
 	 * {@link IllegalStateException} with explanation what is going wrong.
@@ -71,7 +88,22 @@ public final class BackgroundExecutor {
 
 	private static WrongThreadListener wrongThreadListener = DEFAULT_WRONG_THREAD_LISTENER;
 
-	private static final List<Task> TASKS = new ArrayList<>();
+	/*
+	 * Read once per event: when no listener is set, tasks are not timed.
+	 */
+	private static volatile TaskListener taskListener;
+
+	/*
+	 * Tasks having a serial are queued per serial, and tasks having an id are
+	 * indexed by id, so that unrelated serials and ids never contend with each
+	 * other. An entry is removed once it has no task left, so that these maps do
+	 * not grow with the ids and serials computed at runtime. An entry is only
+	 * filled and released while holding its lock, and a task is only added to the
+	 * entry currently mapped, never to a released one.
+	 */
+	private static final ConcurrentMap<String, SerialQueue> SERIAL_QUEUES = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, Set<Task>> TASKS_BY_ID = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, Debouncer<Task>> DEBOUNCERS = new ConcurrentHashMap<>();
 	private static final ThreadLocal<String> CURRENT_SERIAL = new ThreadLocal<>();
 
 	private BackgroundExecutor() {
@@ -84,33 +116,30 @@ public final class BackgroundExecutor {
 	 *            the task to execute
 	 * @param delay
 	 *            the time from now to delay execution, in milliseconds
-	 * 
-	 *            if <code>delay</code> is strictly positive and the current
-	 *            executor does not support scheduling (if
-	 *            {@link #setExecutor(Executor)} has been called with such an
-	 *            executor)
+	 * @param taskExecutor
+	 *            the executor to use
 	 * @return Future associated to the running task
 	 * 
 	 * @throws IllegalArgumentException
-	 *             if the current executor set by {@link #setExecutor(Executor)}
+	 *             if <code>delay</code> is strictly positive and the executor
 	 *             does not support scheduling
 	 */
-	private static Future<?> directExecute(Runnable runnable, long delay) {
+	private static Future<?> directExecute(Runnable runnable, long delay, Executor taskExecutor) {
 		Future<?> future = null;
 		if (delay > 0) {
 			/* no serial, but a delay: schedule the task */
-			if (!(executor instanceof ScheduledExecutorService)) {
+			if (!(taskExecutor instanceof ScheduledExecutorService)) {
 				throw new IllegalArgumentException("The executor set does not support scheduling");
 			}
-			ScheduledExecutorService scheduledExecutorService = (ScheduledExecutorService) executor;
+			ScheduledExecutorService scheduledExecutorService = (ScheduledExecutorService) taskExecutor;
 			future = scheduledExecutorService.schedule(runnable, delay, TimeUnit.MILLISECONDS);
 		} else {
-			if (executor instanceof ExecutorService) {
-				ExecutorService executorService = (ExecutorService) executor;
+			if (taskExecutor instanceof ExecutorService) {
+				ExecutorService executorService = (ExecutorService) taskExecutor;
 				future = executorService.submit(runnable);
 			} else {
 				/* non-cancellable task */
-				executor.execute(runnable);
+				taskExecutor.execute(runnable);
 			}
 		}
 		return future;
@@ -129,14 +158,268 @@ public final class BackgroundExecutor {
 	 *             {@link #setExecutor(Executor)} has been called with such an
 	 *             executor)
 	 */
-	public static synchronized void execute(Task task) {
-		if (task.id != null || task.serial != null) {
-			/* keep task */
-			TASKS.add(task);
+	public static void execute(Task task) {
+		notifyEnqueued(task);
+		if (task.id != null) {
+			/* keep task for cancellation */
+			addToIdIndex(task);
+		}
+		if (task.serial == null) {
+			submit(task);
+		} else {
+			enqueue(task);
+		}
+	}
+
+	/**
+	 * Execute a task, bounding the number of pending tasks of its group: the tasks
+	 * having the same serial if it has one, the tasks having the same id
+	 * otherwise. A task is pending until it starts.
+	 * 
+	 * If the group already has <code>maxPending</code> pending tasks, either the
+	 * oldest ones are dropped, or the given task is dropped, depending on the
+	 * <code>overflow</code> policy. A dropped task is cancelled and never run.
+	 * 
+	 * @param task
+	 *            the task to execute
+	 * @param maxPending
+	 *            the maximum number of pending tasks of the group (<code>0</code>
+	 *            for no limit)
+	 * @param overflow
+	 *            the policy applied when the group is full
+	 * @throws IllegalArgumentException
+	 *             if <code>task.delay</code> is strictly positive and the current
+	 *             executor does not support scheduling (if
+	 *             {@link #setExecutor(Executor)} has been called with such an
+	 *             executor)
+	 */
+	public static void execute(Task task, int maxPending, Background.Overflow overflow) {
+		if (task.serial == null && task.id == null || maxPending <= 0) {
+			execute(task);
+			return;
+		}
+
+		/*
+		 * The pending tasks are counted, the overflowing ones are claimed and the
+		 * task is added to its group while holding the lock of this group only. The
+		 * claimed tasks are released and the task is submitted once this lock is
+		 * released, since they take the locks of other groups.
+		 */
+		notifyEnqueued(task);
+		List<Task> droppedTasks;
+		if (task.serial != null) {
+			if (task.id != null) {
+				addToIdIndex(task);
+			}
+			droppedTasks = enqueueBounded(task, maxPending, overflow);
+		} else {
+			droppedTasks = addToIdIndexBounded(task, maxPending, overflow);
+		}
+
+		if (droppedTasks == null) {
+			/* the group is full, the task itself is dropped, unless its id group did */
+			if (task.state.compareAndSet(Task.NEW, Task.CANCELLED)) {
+				task.releaseCancelled(false, false);
+			}
+			return;
+		}
+		for (Task droppedTask : droppedTasks) {
+			droppedTask.releaseDropped();
+		}
+		if (task.serial != null) {
+			scheduleIfInactive(task.serialQueue);
+		} else {
+			submit(task);
+		}
+	}
+
+	/**
+	 * Queue a task having a serial, unless its serial has too many pending
+	 * tasks.
+	 * 
+	 * @return the tasks dropped to make room, to be released by the caller, or
+	 *         <code>null</code> if the given task is dropped instead
+	 */
+	private static List<Task> enqueueBounded(Task task, int maxPending, Background.Overflow overflow) {
+		while (true) {
+			SerialQueue serialQueue = serialQueue(task.serial);
+			synchronized (serialQueue) {
+				if (SERIAL_QUEUES.get(task.serial) != serialQueue) {
+					/* the queue has just been released, queue the task in a new one */
+					continue;
+				}
+				List<Task> droppedTasks = claimOverflow(pendingTasks(serialQueue), maxPending, overflow);
+				if (droppedTasks != null) {
+					serialQueue.pending.removeAll(droppedTasks);
+					serialQueue.pending.offer(task);
+					task.serialQueue = serialQueue;
+				}
+				return droppedTasks;
+			}
+		}
+	}
+
+	/**
+	 * Index a task having an id but no serial, unless its id has too many
+	 * pending tasks.
+	 * 
+	 * @return the tasks dropped to make room, to be released by the caller, or
+	 *         <code>null</code> if the given task is dropped instead
+	 */
+	private static List<Task> addToIdIndexBounded(Task task, int maxPending, Background.Overflow overflow) {
+		while (true) {
+			Set<Task> tasks = tasksWithId(task.id);
+			synchronized (tasks) {
+				if (TASKS_BY_ID.get(task.id) != tasks) {
+					/* the tasks of this id have just been released, index it in a new set */
+					continue;
+				}
+				List<Task> droppedTasks = claimOverflow(pendingTasks(tasks), maxPending, overflow);
+				if (droppedTasks != null) {
+					tasks.add(task);
+				}
+				return droppedTasks;
+			}
+		}
+	}
+
+	/**
+	 * Claim the oldest pending tasks overflowing a group, so that they are never
+	 * run.
+	 * 
+	 * @param pendingTasks
+	 *            the pending tasks of the group, oldest first
+	 * @return the claimed tasks, or <code>null</code> if the new task must be
+	 *         dropped instead
+	 */
+	private static List<Task> claimOverflow(List<Task> pendingTasks, int maxPending, Background.Overflow overflow) {
+		int overflowCount = pendingTasks.size() - maxPending + 1;
+		if (overflowCount <= 0) {
+			return Collections.emptyList();
+		}
+		if (overflow == Background.Overflow.DROP_NEWEST) {
+			return null;
+		}
+		List<Task> droppedTasks = new ArrayList<>(overflowCount);
+		for (Task pendingTask : pendingTasks) {
+			if (droppedTasks.size() == overflowCount) {
+				break;
+			}
+			if (pendingTask.claimPending()) {
+				droppedTasks.add(pendingTask);
+			}
+		}
+		return droppedTasks;
+	}
+
+	/**
+	 * Execute a task once no other task having the same id has been submitted
+	 * with this method during the <code>debounce</code> period. Only the latest of
+	 * these tasks is executed, the others are dropped. The delay of the task is
+	 * ignored.
+	 * 
+	 * The debounce period is measured by the default executor, which must support
+	 * scheduling.
+	 * 
+	 * @param task
+	 *            the task to execute, which must have an id
+	 * @param debounce
+	 *            the debounce period, in milliseconds
+	 * @throws IllegalArgumentException
+	 *             if the default executor does not support scheduling
+	 */
+	public static void executeDebounced(Task task, long debounce) {
+		if (task.id == null) {
+			throw new IllegalArgumentException("A debounced task must have an id");
+		}
+		task.remainingDelay = 0;
+		while (!debouncer(task.id).submit(task, debounce)) {
+			/* the debouncer of this id has just been released, use a new one */
+		}
+	}
+
+	private static Debouncer<Task> debouncer(final String id) {
+		Debouncer<Task> debouncer = DEBOUNCERS.get(id);
+		if (debouncer == null) {
+			Debouncer<Task> newDebouncer = new Debouncer<Task>() {
+				@Override
+				protected long now() {
+					return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+				}
+
+				@Override
+				protected void schedule(long delay) {
+					directExecute(this, delay, executor);
+				}
+
+				@Override
+				protected void dispatch(Task task) {
+					execute(task);
+				}
+
+				@Override
+				protected void release() {
+					DEBOUNCERS.remove(id, this);
+				}
+			};
+			debouncer = DEBOUNCERS.putIfAbsent(id, newDebouncer);
+			if (debouncer == null) {
+				debouncer = newDebouncer;
+			}
+		}
+		return debouncer;
+	}
+
+	/**
+	 * Retrieve the pending tasks of a serial, oldest first: its submitted task if
+	 * it has not started yet, then its queued tasks.
+	 * 
+	 * @param serialQueue
+	 *            the serial queue, owned by the caller
+	 * @return the tasks of the serial which have not started yet
+	 */
+	private static List<Task> pendingTasks(SerialQueue serialQueue) {
+		List<Task> pendingTasks = new ArrayList<>();
+		if (serialQueue.current != null && serialQueue.current.isPending()) {
+			pendingTasks.add(serialQueue.current);
+		}
+		/* the serial queue is in submission order */
+		for (Task pendingTask : serialQueue.pending) {
+			if (pendingTask.isPending()) {
+				pendingTasks.add(pendingTask);
+			}
+		}
+		return pendingTasks;
+	}
+
+	/**
+	 * Retrieve the pending tasks having an id, oldest first.
+	 * 
+	 * @param tasks
+	 *            the tasks of the id, owned by the caller
+	 * @return the tasks of the id which have not started yet
+	 */
+	private static List<Task> pendingTasks(Set<Task> tasks) {
+		List<Task> pendingTasks = new ArrayList<>();
+		for (Task pendingTask : tasks) {
+			if (pendingTask.isPending()) {
+				pendingTasks.add(pendingTask);
+			}
 		}
-		if (task.serial == null || !hasSerialRunning(task.serial)) {
-			task.executionAsked = true;
-			task.future = directExecute(task, task.remainingDelay);
+		Collections.sort(pendingTasks, new Comparator<Task>() {
+			@Override
+			public int compare(Task lhs, Task rhs) {
+				return Long.compare(lhs.sequence, rhs.sequence);
+			}
+		});
+		return pendingTasks;
+	}
+
+	private static void notifyEnqueued(Task task) {
+		TaskListener listener = taskListener;
+		if (listener != null) {
+			task.enqueueTimeNanos = System.nanoTime();
+			listener.onTaskEnqueued(task.id, task.serial, task.enqueueTimeNanos);
 		}
 	}
 
@@ -181,7 +464,7 @@ public final class BackgroundExecutor {
 	 *             executor)
 	 */
 	public static void execute(Runnable runnable, long delay) {
-		directExecute(runnable, delay);
+		directExecute(runnable, delay, executor);
 	}
 
 	/**
@@ -191,7 +474,7 @@ public final class BackgroundExecutor {
 	 *            the task to execute
 	 */
 	public static void execute(Runnable runnable) {
-		directExecute(runnable, 0);
+		directExecute(runnable, 0, executor);
 	}
 
 	/**
@@ -228,6 +511,80 @@ public final class BackgroundExecutor {
 		BackgroundExecutor.executor = executor;
 	}
 
+	/**
+	 * Register an executor profile. Tasks created with this profile name (for
+	 * instance with <code>&#064;Background(executor = "io")</code>) are executed by
+	 * the given executor instead of the default one, so that blocking tasks do not
+	 * starve CPU-bound tasks.
+	 * 
+	 * Tasks using a profile which is not registered are executed by the default
+	 * executor.
+	 * 
+	 * @param name
+	 *            the name of the profile
+	 * @param executor
+	 *            the executor of this profile
+	 * @see #newVirtualThreadExecutor()
+	 */
+	public static void registerExecutor(String name, Executor executor) {
+		EXECUTORS.put(name, executor);
+	}
+
+	/**
+	 * Unregister an executor profile: its tasks will be executed by the default
+	 * executor. The executor itself is not shut down.
+	 * 
+	 * @param name
+	 *            the name of the profile
+	 * @return the executor of this profile, or <code>null</code> if there was none
+	 */
+	public static Executor unregisterExecutor(String name) {
+		return EXECUTORS.remove(name);
+	}
+
+	/**
+	 * Creates an executor starting a new virtual thread for each task, suitable for
+	 * blocking tasks. Virtual threads are only available on JVMs supporting them
+	 * (Java 21 and later), not on Android.
+	 * 
+	 * Note that this executor does not support scheduling, hence cannot execute
+	 * delayed tasks.
+	 * 
+	 * @return a new virtual thread executor
+	 * @throws UnsupportedOperationException
+	 *             if the runtime does not support virtual threads
+	 */
+	public static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factoryMethod.invoke(null);
+		} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			throw new UnsupportedOperationException("Virtual threads are not supported by this runtime", e);
+		}
+	}
+
+	private static Executor resolveExecutor(String name) {
+		if (name != null) {
+			Executor registeredExecutor = EXECUTORS.get(name);
+			if (registeredExecutor != null) {
+				return registeredExecutor;
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Sets the listener notified of the lifecycle of the tasks, for instance a
+	 * {@link BackgroundExecutorMetrics}. Tasks are not timed while no listener is
+	 * set.
+	 *
+	 * @param listener
+	 *            the new {@link TaskListener}, or <code>null</code> to remove it
+	 */
+	public static void setTaskListener(TaskListener listener) {
+		taskListener = listener;
+	}
+
 	/**
 	 * Changes the default {@link WrongThreadListener}. To restore the default one
 	 * use {@link #DEFAULT_WRONG_THREAD_LISTENER}.
@@ -241,6 +598,10 @@ public final class BackgroundExecutor {
 
 	/**
 	 * Cancel all tasks having the specified <code>id</code>.
+	 * 
+	 * Tasks are indexed by id, so that the cost of this method only depends on the
+	 * number of tasks having this <code>id</code>, and it does not block the
+	 * submission of other tasks.
 	 *
 	 * @param id
 	 *            the cancellation identifier
@@ -248,26 +609,33 @@ public final class BackgroundExecutor {
 	 *            <code>true</code> if the thread executing this task should be
 	 *            interrupted; otherwise, in-progress tasks are allowed to complete
 	 */
-	public static synchronized void cancelAll(String id, boolean mayInterruptIfRunning) {
-		for (int i = TASKS.size() - 1; i >= 0; i--) {
-			Task task = TASKS.get(i);
-			if (id.equals(task.id)) {
-				if (task.future != null) {
-					task.future.cancel(mayInterruptIfRunning);
-					if (!task.managed.getAndSet(true)) {
-						/*
-						 * the task has been submitted to the executor, but its execution has not
-						 * started yet, so that its run() method will never call postExecute()
-						 */
-						task.postExecute();
-					}
-				} else if (task.executionAsked) {
-					Log.w(TAG, "A task with id " + task.id + " cannot be cancelled (the executor set does not support it)");
-				} else {
-					/* this task has not been submitted to the executor */
-					TASKS.remove(i);
-				}
-			}
+	public static void cancelAll(String id, boolean mayInterruptIfRunning) {
+		Debouncer<Task> debouncer = DEBOUNCERS.get(id);
+		if (debouncer != null) {
+			debouncer.cancel();
+		}
+		Set<Task> tasks = TASKS_BY_ID.get(id);
+		if (tasks == null) {
+			return;
+		}
+		for (Task task : tasks) {
+			task.cancel(mayInterruptIfRunning);
+		}
+	}
+
+	/**
+	 * Cancel all tasks having one of the specified <code>ids</code>, for instance
+	 * when the component which started them is destroyed.
+	 *
+	 * @param ids
+	 *            the cancellation identifiers
+	 * @param mayInterruptIfRunning
+	 *            <code>true</code> if the thread executing these tasks should be
+	 *            interrupted; otherwise, in-progress tasks are allowed to complete
+	 */
+	public static void cancelAll(Collection<String> ids, boolean mayInterruptIfRunning) {
+		for (String id : ids) {
+			cancelAll(id, mayInterruptIfRunning);
 		}
 	}
 
@@ -317,50 +685,177 @@ public final class BackgroundExecutor {
 		wrongThreadListener.onWrongBgSerial(current, serials);
 	}
 
+	private static Set<Task> tasksWithId(String id) {
+		Set<Task> tasks = TASKS_BY_ID.get(id);
+		if (tasks == null) {
+			Set<Task> newTasks = Collections.newSetFromMap(new ConcurrentHashMap<Task, Boolean>());
+			tasks = TASKS_BY_ID.putIfAbsent(id, newTasks);
+			if (tasks == null) {
+				tasks = newTasks;
+			}
+		}
+		return tasks;
+	}
+
+	private static void addToIdIndex(Task task) {
+		while (true) {
+			Set<Task> tasks = tasksWithId(task.id);
+			synchronized (tasks) {
+				if (TASKS_BY_ID.get(task.id) == tasks) {
+					tasks.add(task);
+					return;
+				}
+			}
+			/* the tasks of this id have just been released, index it in a new set */
+		}
+	}
+
+	private static SerialQueue serialQueue(String serial) {
+		SerialQueue serialQueue = SERIAL_QUEUES.get(serial);
+		if (serialQueue == null) {
+			SerialQueue newSerialQueue = new SerialQueue(serial);
+			serialQueue = SERIAL_QUEUES.putIfAbsent(serial, newSerialQueue);
+			if (serialQueue == null) {
+				serialQueue = newSerialQueue;
+			}
+		}
+		return serialQueue;
+	}
+
 	/**
-	 * Indicates whether a task with the specified <code>serial</code> has been
-	 * submitted to the executor.
-	 *
-	 * @param serial
-	 *            the serial queue
-	 * @return <code>true</code> if such a task has been submitted,
-	 *         <code>false</code> otherwise
+	 * Queue a task having a serial, and submit it if no other task of this
+	 * serial is submitted.
+	 * 
+	 * @param task
+	 *            the task to queue
 	 */
-	private static boolean hasSerialRunning(String serial) {
-		for (Task task : TASKS) {
-			if (task.executionAsked && serial.equals(task.serial)) {
-				return true;
+	private static void enqueue(Task task) {
+		while (true) {
+			SerialQueue serialQueue = serialQueue(task.serial);
+			synchronized (serialQueue) {
+				if (SERIAL_QUEUES.get(task.serial) != serialQueue) {
+					/* the queue has just been released, queue the task in a new one */
+					continue;
+				}
+				serialQueue.pending.offer(task);
+				task.serialQueue = serialQueue;
 			}
+			scheduleIfInactive(serialQueue);
+			return;
 		}
-		return false;
 	}
 
 	/**
-	 * Retrieve and remove the first task having the specified <code>serial</code>
-	 * (if any).
+	 * Submit the next task of a serial queue, unless one of its tasks is already
+	 * submitted.
 	 * 
-	 * @param serial
+	 * @param serialQueue
 	 *            the serial queue
-	 * @return task if found, <code>null</code> otherwise
 	 */
-	private static Task take(String serial) {
-		int len = TASKS.size();
-		for (int i = 0; i < len; i++) {
-			if (serial.equals(TASKS.get(i).serial)) {
-				return TASKS.remove(i);
+	private static void scheduleIfInactive(SerialQueue serialQueue) {
+		synchronized (serialQueue) {
+			if (serialQueue.active) {
+				return;
 			}
+			serialQueue.active = true;
+		}
+		/* no task of this serial has been submitted, submit the next one */
+		scheduleNext(serialQueue);
+	}
+
+	/**
+	 * Submit the next pending task of an active serial queue, skipping the
+	 * cancelled ones. The queue becomes inactive and is released if there is no
+	 * pending task left.
+	 * 
+	 * @param serialQueue
+	 *            the serial queue, owned by the caller
+	 */
+	private static void scheduleNext(SerialQueue serialQueue) {
+		while (true) {
+			Task next;
+			synchronized (serialQueue) {
+				next = serialQueue.pending.poll();
+				serialQueue.current = next;
+				if (next == null) {
+					serialQueue.active = false;
+					SERIAL_QUEUES.remove(serialQueue.serial, serialQueue);
+					return;
+				}
+			}
+			if (submit(next)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Submit a task to the executor, unless it has been cancelled.
+	 * 
+	 * @param task
+	 *            the task to submit
+	 * @return <code>true</code> if the task has been submitted,
+	 *         <code>false</code> if it has been cancelled
+	 */
+	private static boolean submit(Task task) {
+		if (!task.state.compareAndSet(Task.NEW, Task.SUBMITTED)) {
+			return false;
+		}
+		if (task.remainingDelay != 0) {
+			/* the delay may have partly elapsed while the task was pending */
+			task.remainingDelay = Math.max(0L, task.targetTimeMillis - SystemClock.elapsedRealtime());
+		}
+		Future<?> future = directExecute(task, task.remainingDelay, resolveExecutor(task.executorName));
+		task.future = future;
+		task.futurePublished = true;
+		if (task.cancelRequested) {
+			/* the task started and was cancelled before its future was published */
+			task.cancelRunning(future, task.interruptRequested);
+		}
+		return true;
+	}
+
+	/**
+	 * The pending tasks of a serial. The queue is active while one of its tasks
+	 * is submitted to the executor: only the owner of the active flag may submit
+	 * the next task. The active flag and the current task, the last one taken
+	 * from the queue, are guarded by the queue.
+	 */
+	private static final class SerialQueue {
+		private final String serial;
+		private final ConcurrentLinkedQueue<Task> pending = new ConcurrentLinkedQueue<>();
+		private boolean active;
+		private Task current;
+
+		private SerialQueue(String serial) {
+			this.serial = serial;
 		}
-		return null;
 	}
 
 	public static abstract class Task implements Runnable {
 
+		private static final int NEW = 0;
+		private static final int SUBMITTED = 1;
+		private static final int RUNNING = 2;
+		private static final int FINISHED = 3;
+		private static final int CANCELLED = 4;
+
+		private static final AtomicLong SEQUENCE = new AtomicLong();
+
+		private final long sequence = SEQUENCE.getAndIncrement();
+
 		private String id;
 		private long remainingDelay;
 		private long targetTimeMillis; /* since epoch */
 		private String serial;
-		private boolean executionAsked;
-		private Future<?> future;
+		private SerialQueue serialQueue;
+		private String executorName;
+		private boolean droppedAfterSubmission;
+		private volatile Future<?> future;
+		private volatile boolean futurePublished;
+		private volatile boolean cancelRequested;
+		private volatile boolean interruptRequested;
+		private long enqueueTimeNanos;
 
 		/*
 		 * A task can be cancelled after it has been submitted to the executor but
@@ -368,14 +863,35 @@ public final class BackgroundExecutor {
 		 * hence neither will postExecute(): the tasks with the same serial identifier
 		 * (if any) will never be submitted.
 		 * 
-		 * Therefore, cancelAll() *must* call postExecute() if run() is not started.
+		 * Therefore, cancel() *must* call postExecute() if run() is not started.
 		 * 
-		 * This flag guarantees that either cancelAll() or run() manages this task post
-		 * execution, but not both.
+		 * The transitions of this state guarantee that either cancel() or run()
+		 * manages this task post execution, but not both, and that a task cancelled
+		 * before its submission is never submitted.
 		 */
-		private AtomicBoolean managed = new AtomicBoolean();
+		private final AtomicInteger state = new AtomicInteger(NEW);
 
 		public Task(String id, long delay, String serial) {
+			this(id, delay, serial, null);
+		}
+
+		/**
+		 * Creates a task executed by the executor registered with the given profile
+		 * name.
+		 * 
+		 * @param id
+		 *            identifier used for task cancellation
+		 * @param delay
+		 *            the time from now to delay execution, in milliseconds
+		 * @param serial
+		 *            the serial queue (<code>null</code> or <code>""</code> for no
+		 *            serial execution)
+		 * @param executorName
+		 *            the executor profile (<code>null</code> or <code>""</code> for
+		 *            the default executor)
+		 * @see BackgroundExecutor#registerExecutor(String, Executor)
+		 */
+		public Task(String id, long delay, String serial, String executorName) {
 			if (!"".equals(id)) {
 				this.id = id;
 			}
@@ -386,19 +902,34 @@ public final class BackgroundExecutor {
 			if (!"".equals(serial)) {
 				this.serial = serial;
 			}
+			if (!"".equals(executorName)) {
+				this.executorName = executorName;
+			}
 		}
 
 		@Override
 		public void run() {
-			if (managed.getAndSet(true)) {
+			if (!state.compareAndSet(SUBMITTED, RUNNING)) {
 				/* cancelled and postExecute() already called */
 				return;
 			}
 
+			TaskListener listener = taskListener;
+			long startTimeNanos = 0;
+			if (listener != null) {
+				startTimeNanos = System.nanoTime();
+				listener.onTaskStarted(id, serial, enqueueTimeNanos, startTimeNanos);
+			}
+
 			try {
 				CURRENT_SERIAL.set(serial);
 				execute();
 			} finally {
+				CURRENT_SERIAL.set(null);
+				if (listener != null) {
+					listener.onTaskFinished(id, serial, startTimeNanos, System.nanoTime());
+				}
+				state.set(FINISHED);
 				/* handle next tasks */
 				postExecute();
 			}
@@ -406,25 +937,137 @@ public final class BackgroundExecutor {
 
 		public abstract void execute();
 
-		private void postExecute() {
-			if (id == null && serial == null) {
-				/* nothing to do */
+		/**
+		 * Called when this task is cancelled or dropped, from the cancelling
+		 * thread. If it has not started yet, {@link #execute()} will not be
+		 * called. Does nothing by default.
+		 * 
+		 * @param mayInterruptIfRunning
+		 *            whether the thread executing this task may be interrupted
+		 */
+		protected void onCancel(boolean mayInterruptIfRunning) {
+		}
+
+		private void cancel(boolean mayInterruptIfRunning) {
+			if (cancelPending(mayInterruptIfRunning)) {
 				return;
 			}
-			CURRENT_SERIAL.set(null);
-			synchronized (BackgroundExecutor.class) {
-				/* execution complete */
-				TASKS.remove(this);
-
-				if (serial != null) {
-					Task next = take(serial);
-					if (next != null) {
-						if (next.remainingDelay != 0) {
-							/* the delay may not have elapsed yet */
-							next.remainingDelay = Math.max(0L, next.targetTimeMillis - SystemClock.elapsedRealtime());
+			if (state.get() == RUNNING) {
+				/* before the interruption, which may complete the task */
+				onCancel(mayInterruptIfRunning);
+				/*
+				 * The task may run before submit() publishes its future: the request is
+				 * recorded first, so that either this call or submit() sees the future.
+				 */
+				if (mayInterruptIfRunning) {
+					interruptRequested = true;
+				}
+				cancelRequested = true;
+				if (futurePublished) {
+					cancelRunning(future, mayInterruptIfRunning);
+				}
+			}
+		}
+
+		private void cancelRunning(Future<?> runningFuture, boolean mayInterruptIfRunning) {
+			if (runningFuture != null) {
+				runningFuture.cancel(mayInterruptIfRunning);
+			} else {
+				Log.w(TAG, "A task with id " + id + " cannot be cancelled (the executor set does not support it)");
+			}
+		}
+
+		/**
+		 * Cancel this task if it has not started yet.
+		 * 
+		 * @return <code>true</code> if this call cancelled the task,
+		 *         <code>false</code> if it has started or was already cancelled
+		 */
+		private boolean cancelPending(boolean mayInterruptIfRunning) {
+			if (state.compareAndSet(NEW, CANCELLED)) {
+				/* this task is pending in its serial queue, which will skip it */
+				releaseCancelled(false, mayInterruptIfRunning);
+				return true;
+			}
+			if (state.compareAndSet(SUBMITTED, CANCELLED)) {
+				releaseCancelled(true, mayInterruptIfRunning);
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * A task is pending until it starts, whether it waits in its serial queue
+		 * or in the executor.
+		 */
+		private boolean isPending() {
+			int currentState = state.get();
+			return currentState == NEW || currentState == SUBMITTED;
+		}
+
+		/**
+		 * Claim this task to drop it, if it has not started yet: it will never run.
+		 * A claimed task must then be released with {@link #releaseDropped()}, once
+		 * no lock is held.
+		 * 
+		 * @return <code>true</code> if this call claimed the task
+		 */
+		private boolean claimPending() {
+			if (state.compareAndSet(NEW, CANCELLED)) {
+				return true;
+			}
+			if (state.compareAndSet(SUBMITTED, CANCELLED)) {
+				droppedAfterSubmission = true;
+				return true;
+			}
+			return false;
+		}
+
+		private void releaseDropped() {
+			releaseCancelled(droppedAfterSubmission, false);
+		}
+
+		private void releaseCancelled(boolean submitted, boolean mayInterruptIfRunning) {
+			notifyCancelled();
+			if (submitted) {
+				/*
+				 * the task has been submitted to the executor, but its execution has not
+				 * started yet, so that its run() method will never call postExecute()
+				 */
+				Future<?> submittedFuture = future;
+				if (submittedFuture != null) {
+					submittedFuture.cancel(mayInterruptIfRunning);
+				}
+				postExecute();
+			} else {
+				removeFromIdIndex();
+			}
+			onCancel(mayInterruptIfRunning);
+		}
+
+		private void notifyCancelled() {
+			TaskListener listener = taskListener;
+			if (listener != null) {
+				listener.onTaskCancelled(id, serial, enqueueTimeNanos, System.nanoTime());
+			}
+		}
+
+		private void postExecute() {
+			removeFromIdIndex();
+			if (serialQueue != null) {
+				/* execution complete, submit the next task having the same serial */
+				scheduleNext(serialQueue);
+			}
+		}
+
+		private void removeFromIdIndex() {
+			if (id != null) {
+				Set<Task> tasks = TASKS_BY_ID.get(id);
+				if (tasks != null) {
+					synchronized (tasks) {
+						if (tasks.remove(this) && tasks.isEmpty()) {
+							TASKS_BY_ID.remove(id, tasks);
 						}
-						/* a task having the same serial was queued, execute it */
-						BackgroundExecutor.execute(next);
 					}
 				}
 			}
@@ -432,6 +1075,76 @@ public final class BackgroundExecutor {
 
 	}
 
+	/**
+	 * A callback interface to be notified of the lifecycle of the tasks, to measure
+	 * their queue wait and execution times. Timestamps are given by
+	 * {@link System#nanoTime()}.
+	 * 
+	 * The methods are called from the threads submitting, running or cancelling
+	 * the tasks: they must be thread-safe, fast and must not throw.
+	 *
+	 * @see #setTaskListener(TaskListener)
+	 * @see BackgroundExecutorMetrics
+	 */
+	public interface TaskListener {
+
+		/**
+		 * Will be called when a task is submitted.
+		 *
+		 * @param id
+		 *            the id of the task, or <code>null</code>
+		 * @param serial
+		 *            the serial of the task, or <code>null</code>
+		 * @param enqueueTimeNanos
+		 *            the submission time
+		 */
+		void onTaskEnqueued(String id, String serial, long enqueueTimeNanos);
+
+		/**
+		 * Will be called when a task starts its execution.
+		 *
+		 * @param id
+		 *            the id of the task, or <code>null</code>
+		 * @param serial
+		 *            the serial of the task, or <code>null</code>
+		 * @param enqueueTimeNanos
+		 *            the submission time, or <code>0</code> if the task was
+		 *            submitted while no listener was set
+		 * @param startTimeNanos
+		 *            the start time
+		 */
+		void onTaskStarted(String id, String serial, long enqueueTimeNanos, long startTimeNanos);
+
+		/**
+		 * Will be called when a task completes its execution, even abruptly.
+		 *
+		 * @param id
+		 *            the id of the task, or <code>null</code>
+		 * @param serial
+		 *            the serial of the task, or <code>null</code>
+		 * @param startTimeNanos
+		 *            the start time
+		 * @param endTimeNanos
+		 *            the end time
+		 */
+		void onTaskFinished(String id, String serial, long startTimeNanos, long endTimeNanos);
+
+		/**
+		 * Will be called when a task is cancelled or dropped before it starts.
+		 *
+		 * @param id
+		 *            the id of the task, or <code>null</code>
+		 * @param serial
+		 *            the serial of the task, or <code>null</code>
+		 * @param enqueueTimeNanos
+		 *            the submission time, or <code>0</code> if the task was
+		 *            submitted while no listener was set
+		 * @param cancelTimeNanos
+		 *            the cancellation time
+		 */
+		void onTaskCancelled(String id, String serial, long enqueueTimeNanos, long cancelTimeNanos);
+	}
+
 	/**
 	 * A callback interface to be notified when a method invocation is expected from
 	 * another thread.
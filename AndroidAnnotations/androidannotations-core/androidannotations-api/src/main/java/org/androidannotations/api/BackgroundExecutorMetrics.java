@@ -0,0 +1,302 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Aggregates the queue wait and execution times of the
+ * {@link BackgroundExecutor} tasks, for all tasks, per id and per serial.
+ *
+ * <blockquote>
+ *
+ * <b>Example</b> :
+ *
+ * <pre>
+ * BackgroundExecutorMetrics metrics = new BackgroundExecutorMetrics();
+ * BackgroundExecutor.setTaskListener(metrics);
+ *
+ * // ...
+ *
+ * BackgroundExecutorMetrics.Stats stats = metrics.getSerialStats(&quot;sync&quot;);
+ * Log.d(TAG, &quot;sync tasks waited &quot; + stats.getMaxWaitNanos() + &quot; ns at most&quot;);
+ * </pre>
+ *
+ * </blockquote>
+ */
+public class BackgroundExecutorMetrics implements BackgroundExecutor.TaskListener {
+
+	private final Stats allStats = new Stats();
+	private final ConcurrentMap<String, Stats> statsById = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Stats> statsBySerial = new ConcurrentHashMap<>();
+
+	@Override
+	public void onTaskEnqueued(String id, String serial, long enqueueTimeNanos) {
+		allStats.enqueued.incrementAndGet();
+		if (id != null) {
+			stats(statsById, id).enqueued.incrementAndGet();
+		}
+		if (serial != null) {
+			stats(statsBySerial, serial).enqueued.incrementAndGet();
+		}
+	}
+
+	@Override
+	public void onTaskStarted(String id, String serial, long enqueueTimeNanos, long startTimeNanos) {
+		long waitNanos = enqueueTimeNanos != 0 ? startTimeNanos - enqueueTimeNanos : -1;
+		allStats.started(waitNanos);
+		if (id != null) {
+			stats(statsById, id).started(waitNanos);
+		}
+		if (serial != null) {
+			stats(statsBySerial, serial).started(waitNanos);
+		}
+	}
+
+	@Override
+	public void onTaskFinished(String id, String serial, long startTimeNanos, long endTimeNanos) {
+		long runNanos = endTimeNanos - startTimeNanos;
+		allStats.finished(runNanos);
+		if (id != null) {
+			stats(statsById, id).finished(runNanos);
+		}
+		if (serial != null) {
+			stats(statsBySerial, serial).finished(runNanos);
+		}
+	}
+
+	@Override
+	public void onTaskCancelled(String id, String serial, long enqueueTimeNanos, long cancelTimeNanos) {
+		allStats.cancelled.incrementAndGet();
+		if (id != null) {
+			stats(statsById, id).cancelled.incrementAndGet();
+		}
+		if (serial != null) {
+			stats(statsBySerial, serial).cancelled.incrementAndGet();
+		}
+	}
+
+	private static Stats stats(ConcurrentMap<String, Stats> statsByKey, String key) {
+		Stats stats = statsByKey.get(key);
+		if (stats == null) {
+			Stats newStats = new Stats();
+			stats = statsByKey.putIfAbsent(key, newStats);
+			if (stats == null) {
+				stats = newStats;
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * @return the statistics of all the tasks
+	 */
+	public Stats getAllStats() {
+		return allStats;
+	}
+
+	/**
+	 * @param id
+	 *            the id of the tasks
+	 * @return the statistics of the tasks having this id, or <code>null</code> if
+	 *         there is none
+	 */
+	public Stats getIdStats(String id) {
+		return statsById.get(id);
+	}
+
+	/**
+	 * @param serial
+	 *            the serial of the tasks
+	 * @return the statistics of the tasks having this serial, or
+	 *         <code>null</code> if there is none
+	 */
+	public Stats getSerialStats(String serial) {
+		return statsBySerial.get(serial);
+	}
+
+	/**
+	 * @return the ids of the tasks measured so far
+	 */
+	public Set<String> getIds() {
+		return Collections.unmodifiableSet(statsById.keySet());
+	}
+
+	/**
+	 * @return the serials of the tasks measured so far
+	 */
+	public Set<String> getSerials() {
+		return Collections.unmodifiableSet(statsBySerial.keySet());
+	}
+
+	/**
+	 * Forgets all the measures.
+	 */
+	public void clear() {
+		allStats.clear();
+		statsById.clear();
+		statsBySerial.clear();
+	}
+
+	/**
+	 * The counters and histograms of a group of tasks. Each counter is updated
+	 * atomically, but they are not updated together: a consistent snapshot is
+	 * only guaranteed while no task is running.
+	 */
+	public static final class Stats {
+
+		/**
+		 * The number of buckets of the histograms. The bucket <code>i</code> counts
+		 * the durations in <code>[2^i, 2^(i+1))</code> microseconds, the first one
+		 * also counts the shorter durations and the last one the longer durations.
+		 */
+		public static final int HISTOGRAM_BUCKETS = 32;
+
+		private final AtomicLong enqueued = new AtomicLong();
+		private final AtomicLong started = new AtomicLong();
+		private final AtomicLong finished = new AtomicLong();
+		private final AtomicLong cancelled = new AtomicLong();
+		private final AtomicLong totalWaitNanos = new AtomicLong();
+		private final AtomicLong maxWaitNanos = new AtomicLong();
+		private final AtomicLong totalRunNanos = new AtomicLong();
+		private final AtomicLong maxRunNanos = new AtomicLong();
+		private final AtomicLongArray waitHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+		private final AtomicLongArray runHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+		private Stats() {
+		}
+
+		private void started(long waitNanos) {
+			started.incrementAndGet();
+			if (waitNanos >= 0) {
+				record(waitNanos, totalWaitNanos, maxWaitNanos, waitHistogram);
+			}
+		}
+
+		private void finished(long runNanos) {
+			finished.incrementAndGet();
+			record(runNanos, totalRunNanos, maxRunNanos, runHistogram);
+		}
+
+		private static void record(long nanos, AtomicLong total, AtomicLong max, AtomicLongArray histogram) {
+			total.addAndGet(nanos);
+
+			long currentMax = max.get();
+			while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+				currentMax = max.get();
+			}
+
+			histogram.incrementAndGet(bucket(nanos));
+		}
+
+		private static int bucket(long nanos) {
+			long micros = nanos / 1000;
+			if (micros <= 1) {
+				return 0;
+			}
+			int bucket = 63 - Long.numberOfLeadingZeros(micros);
+			return Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+		}
+
+		private void clear() {
+			enqueued.set(0);
+			started.set(0);
+			finished.set(0);
+			cancelled.set(0);
+			totalWaitNanos.set(0);
+			maxWaitNanos.set(0);
+			totalRunNanos.set(0);
+			maxRunNanos.set(0);
+			for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+				waitHistogram.set(i, 0);
+				runHistogram.set(i, 0);
+			}
+		}
+
+		public long getEnqueued() {
+			return enqueued.get();
+		}
+
+		public long getStarted() {
+			return started.get();
+		}
+
+		public long getFinished() {
+			return finished.get();
+		}
+
+		public long getCancelled() {
+			return cancelled.get();
+		}
+
+		public long getTotalWaitNanos() {
+			return totalWaitNanos.get();
+		}
+
+		public long getMaxWaitNanos() {
+			return maxWaitNanos.get();
+		}
+
+		public long getTotalRunNanos() {
+			return totalRunNanos.get();
+		}
+
+		public long getMaxRunNanos() {
+			return maxRunNanos.get();
+		}
+
+		/**
+		 * @return the number of tasks per bucket of queue wait time
+		 * @see #HISTOGRAM_BUCKETS
+		 */
+		public long[] getWaitHistogram() {
+			return toArray(waitHistogram);
+		}
+
+		/**
+		 * @return the number of tasks per bucket of execution time
+		 * @see #HISTOGRAM_BUCKETS
+		 */
+		public long[] getRunHistogram() {
+			return toArray(runHistogram);
+		}
+
+		private static long[] toArray(AtomicLongArray histogram) {
+			long[] counts = new long[HISTOGRAM_BUCKETS];
+			for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+				counts[i] = histogram.get(i);
+			}
+			return counts;
+		}
+
+		@Override
+		public String toString() {
+			return "Stats{enqueued=" + getEnqueued() //
+					+ ", started=" + getStarted() //
+					+ ", finished=" + getFinished() //
+					+ ", cancelled=" + getCancelled() //
+					+ ", totalWaitNanos=" + getTotalWaitNanos() //
+					+ ", maxWaitNanos=" + getMaxWaitNanos() //
+					+ ", totalRunNanos=" + getTotalRunNanos() //
+					+ ", maxRunNanos=" + getMaxRunNanos() + "}";
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+/**
+ * Coalesces the tasks submitted with the same id: a task is dispatched once no
+ * other task has been submitted during the debounce period, and only the latest
+ * task is dispatched.
+ * 
+ * A single timer is scheduled for all the calls of a period: a new call only
+ * replaces the latest task and pushes the deadline back. The deadline and the
+ * latest task are guarded by this debouncer, so that a timer never dispatches
+ * a task whose deadline has been pushed back concurrently.
+ * 
+ * Once its latest task is dispatched or cancelled, a debouncer is released: it
+ * does not accept tasks anymore, and the tasks of its id are submitted to a new
+ * debouncer.
+ *
+ * @param <T>
+ *            the type of the tasks
+ */
+abstract class Debouncer<T extends Runnable> implements Runnable {
+
+	private T latestTask;
+	private long deadline;
+	private boolean released;
+
+	/**
+	 * Replace the pending task, and postpone its dispatch.
+	 * 
+	 * @param task
+	 *            the new task
+	 * @param period
+	 *            the debounce period, in milliseconds
+	 * @return <code>false</code> if this debouncer is released, in which case
+	 *         the task must be submitted to a new one
+	 */
+	boolean submit(T task, long period) {
+		boolean timerPending;
+		synchronized (this) {
+			if (released) {
+				return false;
+			}
+			deadline = now() + period;
+			timerPending = latestTask != null;
+			latestTask = task;
+		}
+		if (!timerPending) {
+			schedule(period);
+		}
+		return true;
+	}
+
+	/**
+	 * Drop the pending task, if any.
+	 */
+	synchronized void cancel() {
+		latestTask = null;
+	}
+
+	@Override
+	public void run() {
+		T task;
+		long remaining;
+		synchronized (this) {
+			task = latestTask;
+			if (task == null) {
+				/* cancelled */
+				releaseIfIdle();
+				return;
+			}
+			remaining = deadline - now();
+			if (remaining <= 0) {
+				latestTask = null;
+				releaseIfIdle();
+			}
+		}
+		if (remaining > 0) {
+			/* a task has been submitted since this timer was scheduled */
+			schedule(remaining);
+		} else {
+			dispatch(task);
+		}
+	}
+
+	private void releaseIfIdle() {
+		if (!released) {
+			released = true;
+			release();
+		}
+	}
+
+	/**
+	 * The current time, measured by the same clock as {@link #schedule(long)}.
+	 * 
+	 * @return the current time, in milliseconds
+	 */
+	protected abstract long now();
+
+	/**
+	 * Run this debouncer after the given delay.
+	 * 
+	 * @param delay
+	 *            the delay, in milliseconds
+	 */
+	protected abstract void schedule(long delay);
+
+	/**
+	 * Execute the latest task, once the debounce period has elapsed.
+	 * 
+	 * @param task
+	 *            the task to execute
+	 */
+	protected abstract void dispatch(T task);
+
+	/**
+	 * Called once, while holding the lock of this debouncer, when it is
+	 * released, so that it can be forgotten.
+	 */
+	protected abstract void release();
+}
@@ -18,6 +18,8 @@ package org.androidannotations.api;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import android.os.Handler;
 import android.os.Looper;
@@ -44,6 +46,7 @@ public final class UiThreadExecutor {
 	};
 
 	private static final Map<String, Token> TOKENS = new HashMap<>();
+	private static final ConcurrentMap<String, Debouncer<Runnable>> DEBOUNCERS = new ConcurrentHashMap<>();
 
 	private UiThreadExecutor() {
 		// should not be instantiated
@@ -69,6 +72,57 @@ public final class UiThreadExecutor {
 		HANDLER.postAtTime(task, nextToken(id), time);
 	}
 
+	/**
+	 * Run a task once no other task having the same id has been submitted with
+	 * this method during the <code>debounce</code> period. Only the latest of these
+	 * tasks is run, the others are dropped. This method is used by
+	 * AndroidAnnotations and not intended to be called by clients.
+	 * 
+	 * @param id
+	 *            the identifier of the task
+	 * @param task
+	 *            the task itself
+	 * @param debounce
+	 *            the debounce period, in milliseconds
+	 */
+	public static void runDebouncedTask(String id, Runnable task, long debounce) {
+		while (!debouncer(id).submit(task, debounce)) {
+			/* the debouncer of this id has just been released, use a new one */
+		}
+	}
+
+	private static Debouncer<Runnable> debouncer(final String id) {
+		Debouncer<Runnable> debouncer = DEBOUNCERS.get(id);
+		if (debouncer == null) {
+			Debouncer<Runnable> newDebouncer = new Debouncer<Runnable>() {
+				@Override
+				protected long now() {
+					return SystemClock.uptimeMillis();
+				}
+
+				@Override
+				protected void schedule(long delay) {
+					HANDLER.postDelayed(this, delay);
+				}
+
+				@Override
+				protected void dispatch(Runnable task) {
+					task.run();
+				}
+
+				@Override
+				protected void release() {
+					DEBOUNCERS.remove(id, this);
+				}
+			};
+			debouncer = DEBOUNCERS.putIfAbsent(id, newDebouncer);
+			if (debouncer == null) {
+				debouncer = newDebouncer;
+			}
+		}
+		return debouncer;
+	}
+
 	private static Token nextToken(String id) {
 		synchronized (TOKENS) {
 			Token token = TOKENS.get(id);
@@ -102,6 +156,10 @@ public final class UiThreadExecutor {
 	 *            the cancellation identifier
 	 */
 	public static void cancelAll(String id) {
+		Debouncer<Runnable> debouncer = DEBOUNCERS.get(id);
+		if (debouncer != null) {
+			debouncer.cancel();
+		}
 		Token token;
 		synchronized (TOKENS) {
 			token = TOKENS.remove(id);
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.bean;
+
+/**
+ * The {@link Lazy} implementation used by the generated classes: the bean is
+ * created at most once, even when {@link #get()} is first called concurrently.
+ *
+ * @param <T>
+ *            the type of the bean
+ */
+public abstract class AbstractLazy<T> implements Lazy<T> {
+
+	private volatile T instance;
+
+	@Override
+	public final T get() {
+		T result = instance;
+		if (result == null) {
+			synchronized (this) {
+				result = instance;
+				if (result == null) {
+					result = create();
+					instance = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return a new instance of the bean
+	 */
+	protected abstract T create();
+
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.bean;
+
+/**
+ * A handle to a bean which is only created on the first call to
+ * {@link #get()}, then always returned by the following calls.
+ *
+ * <blockquote>
+ *
+ * <b>Example</b> :
+ *
+ * <pre>
+ * &#064;EActivity
+ * public class MyActivity extends Activity {
+ *
+ * 	&#064;Bean
+ * 	Lazy&lt;MyBean&gt; myBean;
+ *
+ * 	void onButtonClicked() {
+ * 		// MyBean_.getInstance_(this) is only called here
+ * 		myBean.get().doSomething();
+ * 	}
+ * }
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @param <T>
+ *            the type of the bean
+ * @see Provider
+ */
+public interface Lazy<T> {
+
+	/**
+	 * @return the bean, created on the first call
+	 */
+	T get();
+
+}
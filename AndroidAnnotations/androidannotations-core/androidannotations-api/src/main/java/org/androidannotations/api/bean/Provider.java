@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.bean;
+
+/**
+ * A handle to a bean which is looked up on every call to {@link #get()}.
+ * Following the scope of the bean, the calls return a new instance (
+ * <code>Default</code> scope), or the instance of the current fragment,
+ * activity or application (<code>Fragment</code>, <code>Activity</code> and
+ * <code>Singleton</code> scopes).
+ *
+ * @param <T>
+ *            the type of the bean
+ * @see Lazy
+ */
+public interface Provider<T> {
+
+	/**
+	 * @return an instance of the bean matching its scope
+	 */
+	T get();
+
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.bean;
+
+/**
+ * The lock held by the generated classes while they create a singleton bean.
+ * The singletons may inject each other, so they all share this lock: with one
+ * lock per bean, two singletons first requested on different threads could
+ * each wait for the other to be created.
+ */
+public final class SingletonLock {
+
+	public static final Object LOCK = new Object();
+
+	private SingletonLock() {
+	}
+
+}
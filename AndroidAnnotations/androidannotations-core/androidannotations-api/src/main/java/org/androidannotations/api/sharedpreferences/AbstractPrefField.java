@@ -25,6 +25,11 @@ public abstract class AbstractPrefField<T> {
 	protected final SharedPreferences sharedPreferences;
 	protected final String key;
 
+	/**
+	 * The helper which created this field, it batches its writes.
+	 */
+	SharedPreferencesHelper helper;
+
 	public AbstractPrefField(SharedPreferences sharedPreferences, String key, T defaultValue) {
 		this.sharedPreferences = sharedPreferences;
 		this.key = key;
@@ -47,20 +52,36 @@ public abstract class AbstractPrefField<T> {
 
 	public final void put(T value) {
 		putInternal((value == null) ? defaultValue : value);
+		invalidateCache();
 	};
 
 	protected abstract void putInternal(T value);
 
 	public final void remove() {
 		apply(edit().remove(key));
+		invalidateCache();
+	}
+
+	/**
+	 * Called after each write of this field. Only the fields with a
+	 * read-through cache have something to do.
+	 */
+	void invalidateCache() {
 	}
 
 	protected Editor edit() {
+		if (helper != null) {
+			return helper.fieldEditor();
+		}
 		return sharedPreferences.edit();
 	}
 
 	protected final void apply(Editor editor) {
-		SharedPreferencesCompat.apply(editor);
+		if (helper != null) {
+			helper.applyField(editor);
+		} else {
+			SharedPreferencesCompat.apply(editor);
+		}
 	}
 
 }
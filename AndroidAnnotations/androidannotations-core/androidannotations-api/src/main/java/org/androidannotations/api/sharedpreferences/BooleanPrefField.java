@@ -17,14 +17,14 @@ package org.androidannotations.api.sharedpreferences;
 
 import android.content.SharedPreferences;
 
-public final class BooleanPrefField extends AbstractPrefField<Boolean> {
+public final class BooleanPrefField extends CacheablePrefField<Boolean> {
 
 	BooleanPrefField(SharedPreferences sharedPreferences, String key, Boolean defaultValue) {
 		super(sharedPreferences, key, defaultValue);
 	}
 
 	@Override
-	public Boolean getOr(Boolean defaultValue) {
+	Boolean readUncached(Boolean defaultValue) {
 		return sharedPreferences.getBoolean(key, defaultValue);
 	}
 
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.sharedpreferences;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import android.content.SharedPreferences;
+
+/**
+ * A field whose value can be kept by a read-through cache, enabled by its
+ * {@link SharedPreferencesHelper}.
+ */
+abstract class CacheablePrefField<T> extends AbstractPrefField<T> {
+
+	/**
+	 * The cached value of a preference which is not set.
+	 */
+	private static final Object ABSENT = new Object();
+
+	/*
+	 * Only set when the cache is enabled. It holds either the value read from
+	 * the preferences, ABSENT, or an Invalidation. Each invalidation is a new
+	 * object, so that a value read before an invalidation can never be cached
+	 * after it.
+	 */
+	private AtomicReference<Object> cachedValue;
+
+	CacheablePrefField(SharedPreferences sharedPreferences, String key, T defaultValue) {
+		super(sharedPreferences, key, defaultValue);
+	}
+
+	@Override
+	public final T getOr(T defaultValue) {
+		if (cachedValue != null) {
+			return getCachedOr(defaultValue);
+		}
+		return readUncached(defaultValue);
+	}
+
+	/**
+	 * Reads the value from the preferences.
+	 */
+	abstract T readUncached(T defaultValue);
+
+	/**
+	 * Enables the read-through cache of {@link #getOr(Object)}, before the
+	 * field is published.
+	 */
+	final void enableCache() {
+		cachedValue = new AtomicReference<Object>(new Invalidation());
+	}
+
+	@Override
+	final void invalidateCache() {
+		if (cachedValue != null) {
+			cachedValue.set(new Invalidation());
+		}
+	}
+
+	/**
+	 * Reads the cached value, or reads it with {@link #readUncached(Object)} and
+	 * caches it unless the cache was invalidated meanwhile. A cached read is a
+	 * single volatile read, without lock nor boxing.
+	 */
+	@SuppressWarnings("unchecked")
+	private T getCachedOr(T defaultValue) {
+		Object cached = cachedValue.get();
+		if (!(cached instanceof Invalidation)) {
+			return cached == ABSENT ? defaultValue : (T) cached;
+		}
+
+		T value = sharedPreferences.contains(key) ? readUncached(this.defaultValue) : null;
+		cachedValue.compareAndSet(cached, value != null ? value : ABSENT);
+		return value != null ? value : defaultValue;
+	}
+
+	private static final class Invalidation {
+	}
+
+}
@@ -17,14 +17,14 @@ package org.androidannotations.api.sharedpreferences;
 
 import android.content.SharedPreferences;
 
-public final class FloatPrefField extends AbstractPrefField<Float> {
+public final class FloatPrefField extends CacheablePrefField<Float> {
 
 	FloatPrefField(SharedPreferences sharedPreferences, String key, Float defaultValue) {
 		super(sharedPreferences, key, defaultValue);
 	}
 
 	@Override
-	public Float getOr(Float defaultValue) {
+	Float readUncached(Float defaultValue) {
 		try {
 			return sharedPreferences.getFloat(key, defaultValue);
 		} catch (ClassCastException e) {
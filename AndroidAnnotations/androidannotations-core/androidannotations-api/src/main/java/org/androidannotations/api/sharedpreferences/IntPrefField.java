@@ -17,14 +17,14 @@ package org.androidannotations.api.sharedpreferences;
 
 import android.content.SharedPreferences;
 
-public final class IntPrefField extends AbstractPrefField<Integer> {
+public final class IntPrefField extends CacheablePrefField<Integer> {
 
 	IntPrefField(SharedPreferences sharedPreferences, String key, Integer defaultValue) {
 		super(sharedPreferences, key, defaultValue);
 	}
 
 	@Override
-	public Integer getOr(Integer defaultValue) {
+	Integer readUncached(Integer defaultValue) {
 		try {
 			return sharedPreferences.getInt(key, defaultValue);
 		} catch (ClassCastException e) {
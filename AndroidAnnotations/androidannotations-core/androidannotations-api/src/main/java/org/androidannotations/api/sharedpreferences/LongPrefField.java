@@ -17,14 +17,14 @@ package org.androidannotations.api.sharedpreferences;
 
 import android.content.SharedPreferences;
 
-public final class LongPrefField extends AbstractPrefField<Long> {
+public final class LongPrefField extends CacheablePrefField<Long> {
 
 	LongPrefField(SharedPreferences sharedPreferences, String key, Long defaultValue) {
 		super(sharedPreferences, key, defaultValue);
 	}
 
 	@Override
-	public Long getOr(Long defaultValue) {
+	Long readUncached(Long defaultValue) {
 		try {
 			return sharedPreferences.getLong(key, defaultValue);
 		} catch (ClassCastException e) {
@@ -29,6 +29,11 @@ import org.xmlpull.v1.XmlSerializer;
 import android.util.Log;
 import android.util.Xml;
 
+/**
+ * The XML encoding of the string set preferences used by the previous
+ * versions. It is only used to read these values, the sets are now written by
+ * {@link StringSetSerializer}.
+ */
 public final class SetXmlSerializer {
 
 	private static final String NAMESPACE = "";
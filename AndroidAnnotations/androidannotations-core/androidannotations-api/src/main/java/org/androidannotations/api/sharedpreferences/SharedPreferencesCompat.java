@@ -51,7 +51,7 @@ public abstract class SharedPreferencesCompat {
 			if (serializedSet == null) {
 				return defValues;
 			}
-			return SetXmlSerializer.deserialize(serializedSet);
+			return StringSetSerializer.deserialize(serializedSet);
 		}
 	}
 
@@ -59,7 +59,7 @@ public abstract class SharedPreferencesCompat {
 		try {
 			invoke(PUT_STRING_SET_METHOD, editor, key, values);
 		} catch (NoSuchMethodException e1) {
-			editor.putString(key, SetXmlSerializer.serialize(values));
+			editor.putString(key, StringSetSerializer.serialize(values));
 		}
 	}
 
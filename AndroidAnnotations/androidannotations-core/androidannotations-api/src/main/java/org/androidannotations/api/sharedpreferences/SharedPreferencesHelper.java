@@ -16,46 +16,324 @@
 package org.androidannotations.api.sharedpreferences;
 
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import android.content.SharedPreferences;
+import android.content.SharedPreferences.Editor;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
+import android.os.Handler;
+import android.os.Looper;
 
 public abstract class SharedPreferencesHelper {
 
 	private final SharedPreferences sharedPreferences;
 
+	private final ThreadLocal<Batch> batches = new ThreadLocal<>();
+
+	private final Object writeBehindLock = new Object();
+	private long writeBehindWindowMillis;
+	private Editor pendingEditor;
+	private Handler writeBehindHandler;
+	private final Runnable flushRunnable = new Runnable() {
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	private volatile ConcurrentMap<String, CacheablePrefField<?>> cachedFields;
+
+	/*
+	 * The preferences only keep a weak reference to their listeners.
+	 */
+	private final OnSharedPreferenceChangeListener cacheInvalidator = new OnSharedPreferenceChangeListener() {
+		@Override
+		public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+			if (key == null) {
+				invalidateCachedFields();
+				return;
+			}
+			ConcurrentMap<String, CacheablePrefField<?>> fields = cachedFields;
+			CacheablePrefField<?> field = fields != null ? fields.get(key) : null;
+			if (field != null) {
+				field.invalidateCache();
+			}
+		}
+	};
+
 	public SharedPreferencesHelper(SharedPreferences sharedPreferences) {
 		this.sharedPreferences = sharedPreferences;
 	}
 
+	/**
+	 * Enables the read-through cache of the int, boolean, long and float fields:
+	 * the same field instance is returned for a given key, and it keeps the
+	 * value it last read until it is changed. Reading a cached value takes no
+	 * lock.
+	 * <p>
+	 * The cache is invalidated by the writes of the fields, the batches, and
+	 * by a listener for the changes made through other objects, which is
+	 * notified on the main thread.
+	 * </p>
+	 */
+	protected final void enableFieldCache() {
+		if (cachedFields == null) {
+			cachedFields = new ConcurrentHashMap<>();
+			sharedPreferences.registerOnSharedPreferenceChangeListener(cacheInvalidator);
+		}
+	}
+
+	private void invalidateCachedFields() {
+		ConcurrentMap<String, CacheablePrefField<?>> fields = cachedFields;
+		if (fields != null) {
+			for (CacheablePrefField<?> field : fields.values()) {
+				field.invalidateCache();
+			}
+		}
+	}
+
 	public final SharedPreferences getSharedPreferences() {
 		return sharedPreferences;
 	}
 
 	public final void clear() {
+		flush();
 		SharedPreferencesCompat.apply(sharedPreferences.edit().clear());
+		invalidateCachedFields();
+	}
+
+	/**
+	 * Runs the given writes in a batch: all the field puts and removes made by
+	 * the current thread while they run are applied together, in a single
+	 * <code>apply()</code>, when they return.
+	 * <p>
+	 * Like with an {@link Editor}, the written values are only visible once
+	 * the batch is applied.
+	 * </p>
+	 *
+	 * @param writes
+	 *            the writes to batch
+	 * @see #beginBatch()
+	 */
+	public final void batch(Runnable writes) {
+		beginBatch();
+		try {
+			writes.run();
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Starts a batch for the current thread, which is applied by the matching
+	 * call to {@link #endBatch()}. Batches can be nested, only the outermost
+	 * one is applied.
+	 *
+	 * @see #batch(Runnable)
+	 */
+	public final void beginBatch() {
+		Batch batch = batches.get();
+		if (batch == null) {
+			batch = new Batch(sharedPreferences.edit());
+			batches.set(batch);
+		}
+		batch.depth++;
+	}
+
+	/**
+	 * Ends the batch started by {@link #beginBatch()}, and applies it if it is
+	 * the outermost one.
+	 *
+	 * @throws IllegalStateException
+	 *             if no batch was started by the current thread
+	 */
+	public final void endBatch() {
+		Batch batch = batches.get();
+		if (batch == null) {
+			throw new IllegalStateException("endBatch() called without a matching beginBatch()");
+		}
+
+		batch.depth--;
+		if (batch.depth == 0) {
+			batches.remove();
+			/*
+			 * The pending writes are older than the batch, they must not
+			 * overwrite it.
+			 */
+			flush();
+			SharedPreferencesCompat.apply(batch.editor);
+			invalidateCachedFields();
+		}
+	}
+
+	/**
+	 * Enables the write-behind mode: the field puts and removes made outside of
+	 * a batch are merged in a single editor, applied once the window has
+	 * elapsed after the first of them, or when {@link #flush()} is called.
+	 * <p>
+	 * The written values are only visible once they are applied, so this mode
+	 * should only be used for preferences which are not read right after being
+	 * written.
+	 * </p>
+	 *
+	 * @param windowMillis
+	 *            the window in milliseconds, <code>0</code> to disable the
+	 *            write-behind mode
+	 */
+	public final void setWriteBehindWindow(long windowMillis) {
+		if (windowMillis < 0) {
+			throw new IllegalArgumentException("The write-behind window cannot be negative: " + windowMillis);
+		}
+		synchronized (writeBehindLock) {
+			writeBehindWindowMillis = windowMillis;
+		}
+		if (windowMillis == 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * Applies the writes waiting for the end of the write-behind window, if any.
+	 */
+	public final void flush() {
+		Editor editor;
+		synchronized (writeBehindLock) {
+			editor = pendingEditor;
+			pendingEditor = null;
+			if (writeBehindHandler != null) {
+				writeBehindHandler.removeCallbacks(flushRunnable);
+			}
+		}
+		if (editor != null) {
+			SharedPreferencesCompat.apply(editor);
+			invalidateCachedFields();
+		}
+	}
+
+	/**
+	 * @return the editor to write a field with
+	 */
+	Editor fieldEditor() {
+		Batch batch = batches.get();
+		if (batch != null) {
+			return batch.editor;
+		}
+
+		synchronized (writeBehindLock) {
+			if (writeBehindWindowMillis > 0) {
+				if (pendingEditor == null) {
+					pendingEditor = sharedPreferences.edit();
+					if (writeBehindHandler == null) {
+						writeBehindHandler = new Handler(Looper.getMainLooper());
+					}
+					writeBehindHandler.postDelayed(flushRunnable, writeBehindWindowMillis);
+				}
+				return pendingEditor;
+			}
+		}
+		return sharedPreferences.edit();
+	}
+
+	/**
+	 * Applies the editor returned by {@link #fieldEditor()}, unless it is
+	 * applied later by a batch or a write-behind flush.
+	 */
+	void applyField(Editor editor) {
+		Batch batch = batches.get();
+		if (batch != null && batch.editor == editor) {
+			return;
+		}
+
+		synchronized (writeBehindLock) {
+			if (editor == pendingEditor) {
+				return;
+			}
+		}
+		/*
+		 * Either a plain editor, or a pending one which was flushed while the
+		 * field was written: applying it again applies the late write.
+		 */
+		SharedPreferencesCompat.apply(editor);
+	}
+
+	private <F extends AbstractPrefField<?>> F attach(F field) {
+		field.helper = this;
+		return field;
+	}
+
+	/**
+	 * @return the cached field of this key, or <code>null</code> if the cache
+	 *         is disabled or the field is not created yet
+	 */
+	private <F extends CacheablePrefField<?>> F getCachedField(String key, Class<F> fieldClass) {
+		ConcurrentMap<String, CacheablePrefField<?>> fields = cachedFields;
+		if (fields == null) {
+			return null;
+		}
+		CacheablePrefField<?> field = fields.get(key);
+		return fieldClass.isInstance(field) ? fieldClass.cast(field) : null;
+	}
+
+	private <F extends CacheablePrefField<?>> F attachCached(F field, Class<F> fieldClass) {
+		attach(field);
+		ConcurrentMap<String, CacheablePrefField<?>> fields = cachedFields;
+		if (fields == null) {
+			return field;
+		}
+
+		field.enableCache();
+		CacheablePrefField<?> previousField = fields.putIfAbsent(field.key(), field);
+		return fieldClass.isInstance(previousField) ? fieldClass.cast(previousField) : field;
 	}
 
 	protected IntPrefField intField(String key, int defaultValue) {
-		return new IntPrefField(sharedPreferences, key, defaultValue);
+		IntPrefField field = getCachedField(key, IntPrefField.class);
+		if (field != null) {
+			return field;
+		}
+		return attachCached(new IntPrefField(sharedPreferences, key, defaultValue), IntPrefField.class);
 	}
 
 	protected StringPrefField stringField(String key, String defaultValue) {
-		return new StringPrefField(sharedPreferences, key, defaultValue);
+		return attach(new StringPrefField(sharedPreferences, key, defaultValue));
 	}
 
 	protected StringSetPrefField stringSetField(String key, Set<String> defaultValue) {
-		return new StringSetPrefField(sharedPreferences, key, defaultValue);
+		return attach(new StringSetPrefField(sharedPreferences, key, defaultValue));
 	}
 
 	protected BooleanPrefField booleanField(String key, boolean defaultValue) {
-		return new BooleanPrefField(sharedPreferences, key, defaultValue);
+		BooleanPrefField field = getCachedField(key, BooleanPrefField.class);
+		if (field != null) {
+			return field;
+		}
+		return attachCached(new BooleanPrefField(sharedPreferences, key, defaultValue), BooleanPrefField.class);
 	}
 
 	protected FloatPrefField floatField(String key, float defaultValue) {
-		return new FloatPrefField(sharedPreferences, key, defaultValue);
+		FloatPrefField field = getCachedField(key, FloatPrefField.class);
+		if (field != null) {
+			return field;
+		}
+		return attachCached(new FloatPrefField(sharedPreferences, key, defaultValue), FloatPrefField.class);
 	}
 
 	protected LongPrefField longField(String key, long defaultValue) {
-		return new LongPrefField(sharedPreferences, key, defaultValue);
+		LongPrefField field = getCachedField(key, LongPrefField.class);
+		if (field != null) {
+			return field;
+		}
+		return attachCached(new LongPrefField(sharedPreferences, key, defaultValue), LongPrefField.class);
+	}
+
+	private static final class Batch {
+
+		private final Editor editor;
+		private int depth;
+
+		Batch(Editor editor) {
+			this.editor = editor;
+		}
 	}
 }
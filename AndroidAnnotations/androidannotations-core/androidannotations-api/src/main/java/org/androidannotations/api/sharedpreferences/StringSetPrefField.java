@@ -32,7 +32,7 @@ public final class StringSetPrefField extends AbstractPrefField<Set<String>> {
 
 	@Override
 	protected void putInternal(Set<String> value) {
-		SharedPreferences.Editor editor = sharedPreferences.edit();
+		SharedPreferences.Editor editor = edit();
 		SharedPreferencesCompat.putStringSet(editor, key, value);
 		apply(editor);
 	}
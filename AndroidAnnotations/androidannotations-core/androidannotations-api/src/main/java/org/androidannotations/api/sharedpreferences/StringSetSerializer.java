@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.sharedpreferences;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+
+import android.util.Log;
+
+/**
+ * Stores a string set in a single string preference, for the platforms which
+ * do not support string set preferences.
+ * <p>
+ * The set is encoded as <code>AA_set1:&lt;size&gt;;</code> followed by each
+ * string as <code>&lt;length&gt;:&lt;chars&gt;</code>, where the length is the
+ * number of chars of the string, or <code>-1</code> for a <code>null</code>
+ * element. The strings are not escaped, so the set is decoded in a single pass
+ * without any parser. Like before, the set is decoded as a sorted set, with the
+ * <code>null</code> element first.
+ * </p>
+ * <p>
+ * The values written by previous versions with {@link SetXmlSerializer} are
+ * still read, but previous versions cannot read this format.
+ * </p>
+ */
+public final class StringSetSerializer {
+
+	private static final String HEADER = "AA_set1:";
+	private static final char SIZE_END = ';';
+	private static final char LENGTH_END = ':';
+	private static final int NULL_LENGTH = -1;
+
+	private static final Comparator<String> NULL_FIRST_ORDER = new Comparator<String>() {
+		@Override
+		public int compare(String lhs, String rhs) {
+			if (lhs == null) {
+				return rhs == null ? 0 : -1;
+			}
+			return rhs == null ? 1 : lhs.compareTo(rhs);
+		}
+	};
+
+	private StringSetSerializer() {
+
+	}
+
+	public static String serialize(Set<String> set) {
+		if (set == null) {
+			set = Collections.emptySet();
+		}
+
+		int capacity = HEADER.length() + 8;
+		for (String string : set) {
+			capacity += string != null ? string.length() + 4 : 3;
+		}
+
+		StringBuilder builder = new StringBuilder(capacity);
+		builder.append(HEADER).append(set.size()).append(SIZE_END);
+		for (String string : set) {
+			if (string == null) {
+				builder.append(NULL_LENGTH).append(LENGTH_END);
+			} else {
+				builder.append(string.length()).append(LENGTH_END).append(string);
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * @return the set, or <code>null</code> if the data is not a serialized set
+	 */
+	public static Set<String> deserialize(String data) {
+		if (!data.startsWith(HEADER)) {
+			return SetXmlSerializer.deserialize(data);
+		}
+
+		try {
+			int index = HEADER.length();
+			int separator = data.indexOf(SIZE_END, index);
+			int size = parseInt(data, index, separator);
+			index = separator + 1;
+
+			Set<String> stringSet = new TreeSet<>(NULL_FIRST_ORDER);
+			for (int i = 0; i < size; i++) {
+				separator = data.indexOf(LENGTH_END, index);
+				int length = parseInt(data, index, separator);
+				index = separator + 1;
+
+				if (length == NULL_LENGTH) {
+					stringSet.add(null);
+				} else {
+					stringSet.add(data.substring(index, index + length));
+					index += length;
+				}
+			}
+
+			if (index != data.length()) {
+				throw new IllegalArgumentException("Unexpected data after the last string at index " + index);
+			}
+			return stringSet;
+		} catch (RuntimeException e) {
+			Log.w("getStringSet", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Parses the decimal int between the two indexes without extracting it.
+	 */
+	private static int parseInt(String data, int start, int end) {
+		if (end <= start) {
+			throw new IllegalArgumentException("Missing number at index " + start);
+		}
+
+		boolean negative = data.charAt(start) == '-';
+		int index = negative ? start + 1 : start;
+		if (index == end || end - index > 9) {
+			throw new IllegalArgumentException("Invalid number at index " + start);
+		}
+
+		int value = 0;
+		for (; index < end; index++) {
+			int digit = data.charAt(index) - '0';
+			if (digit < 0 || digit > 9) {
+				throw new IllegalArgumentException("Invalid number at index " + start);
+			}
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.view;
+
+import android.view.View;
+
+/**
+ * Implemented by the generated components which can give the root of their
+ * view hierarchy, so that their views can be bound in a single traversal.
+ *
+ * @see ViewBindingTable
+ */
+public interface HasRootView extends HasViews {
+
+	/**
+	 * @return the view searched by {@link #internalFindViewById(int)}, or
+	 *         <code>null</code> if there is none yet
+	 */
+	View internalGetRootView();
+}
@@ -15,11 +15,12 @@
  */
 package org.androidannotations.api.view;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 public class OnViewChangedNotifier {
 
+	private static final OnViewChangedListener[] NO_LISTENERS = new OnViewChangedListener[0];
+
 	private static OnViewChangedNotifier currentNotifier;
 
 	public static OnViewChangedNotifier replaceNotifier(OnViewChangedNotifier notifier) {
@@ -30,15 +31,36 @@ public class OnViewChangedNotifier {
 
 	public static void registerOnViewChangedListener(OnViewChangedListener listener) {
 		if (currentNotifier != null) {
-			currentNotifier.listeners.add(listener);
+			currentNotifier.addListener(listener);
 		}
 	}
 
-	private final Set<OnViewChangedListener> listeners = new LinkedHashSet<>();
+	/*
+	 * The listeners are stored in registration order in a plain array, so that
+	 * notifying them does not allocate an iterator. A listener registered again
+	 * is ignored, like in a set.
+	 */
+	private OnViewChangedListener[] listeners = NO_LISTENERS;
+	private int listenerCount;
+
+	private void addListener(OnViewChangedListener listener) {
+		for (int i = 0; i < listenerCount; i++) {
+			if (listeners[i] == listener) {
+				return;
+			}
+		}
+
+		if (listenerCount == listeners.length) {
+			listeners = Arrays.copyOf(listeners, Math.max(4, listenerCount * 2));
+		}
+		listeners[listenerCount++] = listener;
+	}
 
 	public void notifyViewChanged(HasViews hasViews) {
-		for (OnViewChangedListener listener : listeners) {
-			listener.onViewChanged(hasViews);
+		OnViewChangedListener[] currentListeners = listeners;
+		int count = listenerCount;
+		for (int i = 0; i < count; i++) {
+			currentListeners[i].onViewChanged(hasViews);
 		}
 	}
 
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.view;
+
+import java.util.Arrays;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * The ids of the views bound by a generated component, resolved in a single
+ * traversal of its view hierarchy instead of one <code>findViewById()</code>
+ * call per id.
+ * <p>
+ * Like <code>findViewById()</code>, the views are searched in depth-first
+ * order from the root view, and the first view having an id is bound to it.
+ * The traversal stops as soon as all the ids are found.
+ * </p>
+ * <p>
+ * This class is used by the generated code when the
+ * <code>singlePassViewBinding</code> processor option is enabled.
+ * </p>
+ */
+public final class ViewBindingTable {
+
+	private final int slotCount;
+	private final int[] sortedIds;
+	private final int[] slots;
+
+	/**
+	 * @param ids
+	 *            the ids of the views, the index of each id is the slot of its
+	 *            view in the array returned by {@link #findViews(HasViews)}
+	 */
+	public ViewBindingTable(int... ids) {
+		slotCount = ids.length;
+
+		long[] idsAndSlots = new long[slotCount];
+		for (int slot = 0; slot < slotCount; slot++) {
+			idsAndSlots[slot] = ((long) ids[slot] << 32) | slot;
+		}
+		Arrays.sort(idsAndSlots);
+
+		sortedIds = new int[slotCount];
+		slots = new int[slotCount];
+		for (int i = 0; i < slotCount; i++) {
+			sortedIds[i] = (int) (idsAndSlots[i] >> 32);
+			slots[i] = (int) idsAndSlots[i];
+		}
+	}
+
+	/**
+	 * Finds the views of all the ids of this table.
+	 *
+	 * @param hasViews
+	 *            the component holding the views
+	 * @return the views, indexed by the slots given to the constructor, or
+	 *         <code>null</code> elements for the views which were not found
+	 */
+	public View[] findViews(HasViews hasViews) {
+		View[] views = new View[slotCount];
+
+		View rootView = hasViews instanceof HasRootView ? ((HasRootView) hasViews).internalGetRootView() : null;
+		if (rootView != null) {
+			bindViews(rootView, views, slotCount);
+		} else {
+			for (int i = 0; i < slotCount; i++) {
+				views[slots[i]] = hasViews.internalFindViewById(sortedIds[i]);
+			}
+		}
+		return views;
+	}
+
+	private int bindViews(View view, View[] views, int remaining) {
+		int id = view.getId();
+		if (id != View.NO_ID) {
+			remaining -= bindView(id, view, views);
+		}
+
+		if (remaining > 0 && view instanceof ViewGroup) {
+			ViewGroup viewGroup = (ViewGroup) view;
+			int childCount = viewGroup.getChildCount();
+			for (int i = 0; i < childCount && remaining > 0; i++) {
+				remaining = bindViews(viewGroup.getChildAt(i), views, remaining);
+			}
+		}
+		return remaining;
+	}
+
+	/**
+	 * @return the number of slots bound by this call, several slots can share
+	 *         the same id
+	 */
+	private int bindView(int id, View view, View[] views) {
+		int index = Arrays.binarySearch(sortedIds, id);
+		if (index < 0) {
+			return 0;
+		}
+		while (index > 0 && sortedIds[index - 1] == id) {
+			index--;
+		}
+
+		int bound = 0;
+		for (; index < slotCount && sortedIds[index] == id; index++) {
+			int slot = slots[index];
+			if (views[slot] == null) {
+				views[slot] = view;
+				bound++;
+			}
+		}
+		return bound;
+	}
+}
@@ -52,6 +52,11 @@ public class ThreadActivity extends Activity {
 
 	}
 
+	@Background(executor = "test_executor")
+	void emptyBackgroundMethodWithExecutorProfile() {
+
+	}
+
 	@Background(delay = 1000)
 	void emptyDelayedBackgroundMethod() {
 
@@ -81,6 +86,21 @@ public class ThreadActivity extends Activity {
 		add(list, i, delay, sem);
 	}
 
+	@Background(serial = "bounded_oldest", maxPending = 1)
+	void addBoundedDropOldestBackground(List<Integer> list, int i, int delay, Semaphore sem) {
+		add(list, i, delay, sem);
+	}
+
+	@Background(serial = "bounded_newest", maxPending = 1, overflow = Background.Overflow.DROP_NEWEST)
+	void addBoundedDropNewestBackground(List<Integer> list, int i, int delay, Semaphore sem) {
+		add(list, i, delay, sem);
+	}
+
+	@Background(id = "debounced", debounce = 100)
+	void addDebouncedBackground(List<Integer> list, int i, Semaphore sem) {
+		add(list, i, 0, sem);
+	}
+
 	@Background(id = "to_cancel")
 	void addCancellableBackground(List<Integer> list, int i, int interruptibleDelay) {
 		add(list, i, interruptibleDelay, null);
@@ -116,6 +136,11 @@ public class ThreadActivity extends Activity {
 
 	}
 
+	@UiThread(id = "debounced_ui", debounce = 100)
+	void emptyUiDebouncedMethod(Object param) {
+
+	}
+
 	@UiThread(delay = 1000)
 	void emptyUiDelayedMethod() {
 
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.ebean;
+
+import org.androidannotations.annotations.Bean;
+import org.androidannotations.annotations.EActivity;
+import org.androidannotations.api.bean.Lazy;
+import org.androidannotations.api.bean.Provider;
+
+import android.app.Activity;
+
+@EActivity
+public class LazyBeanInjectedActivity extends Activity {
+
+	@Bean
+	public Lazy<LazyCreatedBean> lazyDependency;
+
+	@Bean
+	public Provider<LazyCreatedBean> providedDependency;
+
+	@Bean(SomeImplementation.class)
+	public Lazy<SomeInterface> lazyInterfaceDependency;
+
+	@Bean
+	public Lazy<SomeSingleton> lazySingletonDependency;
+
+	@Bean
+	public Provider<ActivityScopedBean> providedActivityScopedDependency;
+
+	@Bean
+	public Provider<FragmentScopedBean> providedFragmentScopedDependency;
+
+	@Bean
+	public ActivityScopedBean activityScopedDependency;
+
+	public Lazy<EmptyDependency> methodInjectedLazyDependency;
+
+	@Bean
+	protected void injectLazyDependency(Lazy<EmptyDependency> methodInjectedLazyDependency) {
+		this.methodInjectedLazyDependency = methodInjectedLazyDependency;
+	}
+
+}
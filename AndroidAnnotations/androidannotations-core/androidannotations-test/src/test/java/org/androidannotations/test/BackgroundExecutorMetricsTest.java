@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executor;
+
+import org.androidannotations.api.BackgroundExecutor;
+import org.androidannotations.api.BackgroundExecutorMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class BackgroundExecutorMetricsTest {
+
+	private BackgroundExecutorMetrics metrics;
+
+	@Before
+	public void setUp() {
+		metrics = new BackgroundExecutorMetrics();
+		BackgroundExecutor.setTaskListener(metrics);
+		BackgroundExecutor.setExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		BackgroundExecutor.setTaskListener(null);
+		BackgroundExecutor.setExecutor(BackgroundExecutor.DEFAULT_EXECUTOR);
+	}
+
+	@Test
+	public void measuresTasksPerIdAndSerial() {
+		for (int i = 0; i < 3; i++) {
+			BackgroundExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					// nothing to do
+				}
+			}, "metrics_id", "metrics_serial");
+		}
+		BackgroundExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				// nothing to do
+			}
+		});
+
+		BackgroundExecutorMetrics.Stats idStats = metrics.getIdStats("metrics_id");
+		assertEquals(3, idStats.getEnqueued());
+		assertEquals(3, idStats.getStarted());
+		assertEquals(3, idStats.getFinished());
+		assertEquals(0, idStats.getCancelled());
+		assertEquals(3, sum(idStats.getRunHistogram()));
+		assertEquals(3, sum(idStats.getWaitHistogram()));
+		assertTrue(idStats.getMaxRunNanos() <= idStats.getTotalRunNanos());
+
+		assertEquals(3, metrics.getSerialStats("metrics_serial").getFinished());
+
+		/* plain runnables are not tasks, hence are not measured */
+		assertEquals(3, metrics.getAllStats().getFinished());
+	}
+
+	@Test
+	public void countsCancelledTasks() {
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				// never run
+			}
+		};
+		BackgroundExecutor.setExecutor(executor);
+
+		BackgroundExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				// nothing to do
+			}
+		}, "metrics_cancelled", "metrics_cancelled_serial");
+		BackgroundExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				// nothing to do
+			}
+		}, "metrics_cancelled", "metrics_cancelled_serial");
+		BackgroundExecutor.cancelAll("metrics_cancelled", false);
+
+		BackgroundExecutorMetrics.Stats idStats = metrics.getIdStats("metrics_cancelled");
+		assertEquals(2, idStats.getEnqueued());
+		assertEquals(0, idStats.getStarted());
+		assertEquals(2, idStats.getCancelled());
+	}
+
+	@Test
+	public void doesNotMeasureWithoutListener() {
+		BackgroundExecutor.setTaskListener(null);
+
+		BackgroundExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				// nothing to do
+			}
+		}, "metrics_unmeasured", null);
+
+		assertNull(metrics.getIdStats("metrics_unmeasured"));
+	}
+
+	private long sum(long[] histogram) {
+		long sum = 0;
+		for (long count : histogram) {
+			sum += count;
+		}
+		return sum;
+	}
+}
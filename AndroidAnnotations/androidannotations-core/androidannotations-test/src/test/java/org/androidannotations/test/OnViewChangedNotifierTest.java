@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.androidannotations.api.view.HasViews;
+import org.androidannotations.api.view.OnViewChangedListener;
+import org.androidannotations.api.view.OnViewChangedNotifier;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.view.View;
+
+@RunWith(RobolectricTestRunner.class)
+public class OnViewChangedNotifierTest {
+
+	private final List<Integer> notified = new ArrayList<Integer>();
+
+	private final HasViews hasViews = new HasViews() {
+		@Override
+		public <T extends View> T internalFindViewById(int id) {
+			return null;
+		}
+	};
+
+	@After
+	public void tearDown() {
+		OnViewChangedNotifier.replaceNotifier(null);
+	}
+
+	@Test
+	public void notifiesListenersInRegistrationOrder() {
+		OnViewChangedNotifier notifier = new OnViewChangedNotifier();
+		OnViewChangedNotifier.replaceNotifier(notifier);
+		for (int i = 0; i < 10; i++) {
+			OnViewChangedNotifier.registerOnViewChangedListener(new RecordingListener(i));
+		}
+
+		notifier.notifyViewChanged(hasViews);
+
+		assertThat(notified).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+	}
+
+	@Test
+	public void listenerIsRegisteredOnce() {
+		OnViewChangedNotifier notifier = new OnViewChangedNotifier();
+		OnViewChangedNotifier.replaceNotifier(notifier);
+		RecordingListener listener = new RecordingListener(0);
+		OnViewChangedNotifier.registerOnViewChangedListener(listener);
+		OnViewChangedNotifier.registerOnViewChangedListener(listener);
+
+		notifier.notifyViewChanged(hasViews);
+
+		assertThat(notified).containsExactly(0);
+	}
+
+	@Test
+	public void listenerRegisteredAgainAfterOthersIsRegisteredOnce() {
+		OnViewChangedNotifier notifier = new OnViewChangedNotifier();
+		OnViewChangedNotifier.replaceNotifier(notifier);
+		RecordingListener listener = new RecordingListener(0);
+		OnViewChangedNotifier.registerOnViewChangedListener(listener);
+		OnViewChangedNotifier.registerOnViewChangedListener(new RecordingListener(1));
+		OnViewChangedNotifier.registerOnViewChangedListener(listener);
+
+		notifier.notifyViewChanged(hasViews);
+
+		assertThat(notified).containsExactly(0, 1);
+	}
+
+	@Test
+	public void listenerIsNotRegisteredWithoutCurrentNotifier() {
+		OnViewChangedNotifier notifier = new OnViewChangedNotifier();
+		OnViewChangedNotifier previousNotifier = OnViewChangedNotifier.replaceNotifier(notifier);
+		OnViewChangedNotifier.replaceNotifier(previousNotifier);
+		OnViewChangedNotifier.registerOnViewChangedListener(new RecordingListener(0));
+
+		notifier.notifyViewChanged(hasViews);
+
+		assertThat(notified).isEmpty();
+	}
+
+	@Test
+	public void listenerRegisteredWhileNotifyingIsNotifiedNextTime() {
+		final OnViewChangedNotifier notifier = new OnViewChangedNotifier();
+		OnViewChangedNotifier.replaceNotifier(notifier);
+		OnViewChangedNotifier.registerOnViewChangedListener(new OnViewChangedListener() {
+			@Override
+			public void onViewChanged(HasViews hasViews) {
+				OnViewChangedNotifier.registerOnViewChangedListener(new RecordingListener(notified.size()));
+			}
+		});
+
+		notifier.notifyViewChanged(hasViews);
+		assertThat(notified).isEmpty();
+
+		notifier.notifyViewChanged(hasViews);
+		assertThat(notified).containsExactly(0);
+	}
+
+	private class RecordingListener implements OnViewChangedListener {
+
+		private final int index;
+
+		RecordingListener(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public void onViewChanged(HasViews hasViews) {
+			notified.add(index);
+		}
+	}
+}
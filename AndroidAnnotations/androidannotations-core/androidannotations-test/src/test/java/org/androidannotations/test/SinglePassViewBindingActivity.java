@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test;
+
+import org.androidannotations.annotations.Click;
+import org.androidannotations.annotations.EActivity;
+import org.androidannotations.annotations.ViewById;
+
+import android.app.Activity;
+import android.view.View;
+import android.widget.Button;
+import android.widget.TextView;
+
+/**
+ * Generated with the single-pass view binding, which is enabled for the test
+ * sources of this project.
+ */
+@EActivity(R.layout.views_injected)
+public class SinglePassViewBindingActivity extends Activity {
+
+	@ViewById
+	Button myButton;
+
+	@ViewById(R.id.my_text_view)
+	TextView myTextView;
+
+	@ViewById(R.id.my_text_view)
+	View sameTextView;
+
+	@ViewById(R.id.unboundButton)
+	View missingView;
+
+	boolean someViewClicked;
+
+	@Click
+	void someView() {
+		someViewClicked = true;
+	}
+
+}
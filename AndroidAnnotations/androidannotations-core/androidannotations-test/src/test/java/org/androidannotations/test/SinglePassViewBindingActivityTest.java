@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test;
+
+import static org.fest.assertions.api.ANDROID.assertThat;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.androidannotations.api.view.HasRootView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import android.widget.Button;
+
+@RunWith(RobolectricTestRunner.class)
+public class SinglePassViewBindingActivityTest {
+
+	private SinglePassViewBindingActivity_ activity;
+
+	@Before
+	public void setUp() {
+		activity = Robolectric.buildActivity(SinglePassViewBindingActivity_.class).create().get();
+	}
+
+	@Test
+	public void rootViewIsTheDecorView() {
+		HasRootView hasRootView = activity;
+
+		assertThat(hasRootView.internalGetRootView()).isSameAs(activity.getWindow().getDecorView());
+	}
+
+	@Test
+	public void viewsAreBound() {
+		assertThat(activity.myButton).isSameAs(activity.findViewById(R.id.myButton));
+		assertThat(activity.myTextView).isSameAs(activity.findViewById(R.id.my_text_view));
+	}
+
+	@Test
+	public void sameIdIsBoundToSameView() {
+		assertThat(activity.sameTextView).isSameAs(activity.myTextView);
+	}
+
+	@Test
+	public void missingViewIsNull() {
+		assertThat(activity.missingView).isNull();
+	}
+
+	@Test
+	public void viewsAreBoundAgainAfterSetContentView() {
+		Button previousButton = activity.myButton;
+
+		activity.setContentView(R.layout.views_injected);
+
+		assertThat(activity.myButton).isNotSameAs(previousButton);
+		assertThat(activity.myButton).isSameAs(activity.findViewById(R.id.myButton));
+	}
+
+	@Test
+	public void clickIsHandled() {
+		assertThat(activity.someViewClicked).isFalse();
+
+		activity.findViewById(R.id.someView).performClick();
+
+		assertThat(activity.someViewClicked).isTrue();
+	}
+
+}
@@ -19,10 +19,13 @@ package org.androidannotations.test;
 import static org.fest.reflect.core.Reflection.staticField;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -63,13 +66,21 @@ public class ThreadActivityTest {
 	public void after() throws InterruptedException {
 		Thread.setDefaultUncaughtExceptionHandler(defaultExceptionHandler);
 
-		List<String> tasks = staticField("TASKS") //
-				.ofType(new TypeRef<List<String>>() {
+		Map<String, Object> serialQueues = staticField("SERIAL_QUEUES") //
+				.ofType(new TypeRef<Map<String, Object>>() {
 				}) //
 				.in(BackgroundExecutor.class) //
 				.get();
 
-		tasks.clear();
+		serialQueues.clear();
+
+		Map<String, Object> tasksById = staticField("TASKS_BY_ID") //
+				.ofType(new TypeRef<Map<String, Object>>() {
+				}) //
+				.in(BackgroundExecutor.class) //
+				.get();
+
+		tasksById.clear();
 
 		ThreadLocal<String> currentSerial = staticField("CURRENT_SERIAL") //
 				.ofType(new TypeRef<ThreadLocal<String>>() {
@@ -109,6 +120,37 @@ public class ThreadActivityTest {
 		verify(executor).execute(ArgumentMatchers.<Runnable> any());
 	}
 
+	@Test
+	public void backgroundDelegatesToExecutorProfile() {
+
+		Executor defaultExecutor = mock(Executor.class);
+		Executor profileExecutor = mock(Executor.class);
+
+		BackgroundExecutor.setExecutor(defaultExecutor);
+		BackgroundExecutor.registerExecutor("test_executor", profileExecutor);
+
+		try {
+			activity.emptyBackgroundMethodWithExecutorProfile();
+		} finally {
+			BackgroundExecutor.unregisterExecutor("test_executor");
+		}
+
+		verify(profileExecutor).execute(ArgumentMatchers.<Runnable> any());
+		verifyNoMoreInteractions(defaultExecutor);
+	}
+
+	@Test
+	public void backgroundWithUnregisteredExecutorProfileDelegatesToExecutor() {
+
+		Executor executor = mock(Executor.class);
+
+		BackgroundExecutor.setExecutor(executor);
+
+		activity.emptyBackgroundMethodWithExecutorProfile();
+
+		verify(executor).execute(ArgumentMatchers.<Runnable> any());
+	}
+
 	/**
 	 * Verify that non-serialized background tasks <strong>are not</strong>
 	 * serialized (ensure that serial feature does not force all background tasks to
@@ -341,6 +383,107 @@ public class ThreadActivityTest {
 		}
 	}
 
+	@Test
+	public void cancellableBackgroundTasksByIds() {
+		/* number of items to add to the list */
+		final int NB_ADD = 5;
+
+		/* set an executor with 4 threads */
+		BackgroundExecutor.setExecutor(Executors.newFixedThreadPool(4));
+
+		List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+
+		/* sem.acquire() will be unlocked exactly after NB_ADD releases */
+		Semaphore sem = new Semaphore(1 - NB_ADD);
+
+		/*
+		 * execute 3*NB_ADD requests to add an item to the list, two thirds being
+		 * cancelled
+		 */
+		for (int i = 0; i < NB_ADD; i++) {
+			activity.addSerializedBackground(list, i, 0, sem);
+			activity.addCancellableBackground(list, NB_ADD + i, 4000);
+			activity.addCancellableSerializedBackground(list, 2 * NB_ADD + i, 4000);
+		}
+
+		/* cancel all tasks with id "to_cancel" or "to_cancel_serial" */
+		BackgroundExecutor.cancelAll(Arrays.asList("to_cancel", "to_cancel_serial"), true);
+
+		try {
+			/* wait for all non cancelled tasks to be completed */
+			boolean acquired = sem.tryAcquire(MAX_WAITING_TIME, TimeUnit.MILLISECONDS);
+			Assert.assertTrue("Requested tasks should have completed execution", acquired);
+
+			Assert.assertEquals("Only uncancelled tasks must have added items", NB_ADD, list.size());
+
+			for (int item : list) {
+				Assert.assertTrue("Items must be only from uncancelled tasks", item < NB_ADD);
+			}
+		} catch (InterruptedException e) {
+			Assert.assertFalse("Testing thread should never be interrupted", true);
+		}
+	}
+
+	@Test
+	public void boundedBackgroundTasksDropOldest() throws InterruptedException {
+		BackgroundExecutor.setExecutor(Executors.newFixedThreadPool(4));
+
+		List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+		Semaphore sem = new Semaphore(-1);
+
+		/*
+		 * the first task runs while the others are queued: only the latest one is kept
+		 * pending
+		 */
+		activity.addBoundedDropOldestBackground(list, 0, 200, sem);
+		/* a task is pending until it starts, let the first one start */
+		Thread.sleep(50);
+		for (int i = 1; i < 5; i++) {
+			activity.addBoundedDropOldestBackground(list, i, 0, sem);
+		}
+
+		Assert.assertTrue("Requested tasks should have completed execution", sem.tryAcquire(MAX_WAITING_TIME, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(Arrays.asList(0, 4), list);
+	}
+
+	@Test
+	public void boundedBackgroundTasksDropNewest() throws InterruptedException {
+		BackgroundExecutor.setExecutor(Executors.newFixedThreadPool(4));
+
+		List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+		Semaphore sem = new Semaphore(-1);
+
+		/*
+		 * the first task runs while the others are queued: only the first queued one
+		 * is kept pending
+		 */
+		activity.addBoundedDropNewestBackground(list, 0, 200, sem);
+		/* a task is pending until it starts, let the first one start */
+		Thread.sleep(50);
+		for (int i = 1; i < 5; i++) {
+			activity.addBoundedDropNewestBackground(list, i, 0, sem);
+		}
+
+		Assert.assertTrue("Requested tasks should have completed execution", sem.tryAcquire(MAX_WAITING_TIME, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(Arrays.asList(0, 1), list);
+	}
+
+	@Test
+	public void debouncedBackgroundTasks() throws InterruptedException {
+		BackgroundExecutor.setExecutor(Executors.newScheduledThreadPool(2));
+
+		List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+		Semaphore sem = new Semaphore(0);
+
+		for (int i = 0; i < 5; i++) {
+			activity.addDebouncedBackground(list, i, sem);
+		}
+
+		Assert.assertTrue("Debounced task should have completed execution", sem.tryAcquire(MAX_WAITING_TIME, TimeUnit.MILLISECONDS));
+		Assert.assertFalse("Only one task should have been executed", sem.tryAcquire(300, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(Collections.singletonList(4), list);
+	}
+
 	@Test
 	public void propagateException() {
 		BackgroundExecutor.setExecutor(new Executor() {
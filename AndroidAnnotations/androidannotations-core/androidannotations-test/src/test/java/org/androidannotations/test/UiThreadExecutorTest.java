@@ -16,12 +16,14 @@
  */
 package org.androidannotations.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.androidannotations.api.UiThreadExecutor;
 import org.junit.Test;
@@ -59,6 +61,39 @@ public class UiThreadExecutorTest {
 		assertFalse("Task is not cancelled", done.get());
 	}
 
+	@Test
+	public void debouncedTasksTest() throws Exception {
+		final AtomicInteger runs = new AtomicInteger();
+		final AtomicInteger lastRun = new AtomicInteger(-1);
+		for (int i = 0; i < 3; i++) {
+			final int index = i;
+			UiThreadExecutor.runDebouncedTask("test", new Runnable() {
+				@Override
+				public void run() {
+					runs.incrementAndGet();
+					lastRun.set(index);
+				}
+			}, 10);
+		}
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		assertEquals("Only one task should run", 1, runs.get());
+		assertEquals("The latest task should run", 2, lastRun.get());
+	}
+
+	@Test
+	public void debouncedTaskCancelTest() throws Exception {
+		final AtomicBoolean done = new AtomicBoolean(false);
+		UiThreadExecutor.runDebouncedTask("test", new Runnable() {
+			@Override
+			public void run() {
+				done.set(true);
+			}
+		}, 10);
+		UiThreadExecutor.cancelAll("test");
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		assertFalse("Task is not cancelled", done.get());
+	}
+
 	@Test
 	public void oneTaskInThreadTest() throws Exception {
 		final CountDownLatch taskStartedLatch = new CountDownLatch(1);
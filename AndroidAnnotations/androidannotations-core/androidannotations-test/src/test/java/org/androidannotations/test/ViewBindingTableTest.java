@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.androidannotations.api.view.HasRootView;
+import org.androidannotations.api.view.HasViews;
+import org.androidannotations.api.view.ViewBindingTable;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+@RunWith(RobolectricTestRunner.class)
+public class ViewBindingTableTest {
+
+	private FrameLayout root;
+	private TextView nestedText;
+	private TextView duplicatedText;
+	private LinearLayout list;
+
+	@Before
+	public void setUp() {
+		Context context = RuntimeEnvironment.application;
+		root = new FrameLayout(context);
+		root.setId(1);
+
+		list = new LinearLayout(context);
+		list.setId(2);
+		nestedText = new TextView(context);
+		nestedText.setId(3);
+		list.addView(nestedText);
+		duplicatedText = new TextView(context);
+		duplicatedText.setId(3);
+		list.addView(duplicatedText);
+
+		root.addView(new View(context));
+		root.addView(list);
+	}
+
+	@Test
+	public void findsViewsLikeFindViewById() {
+		ViewBindingTable table = new ViewBindingTable(3, 1, 42, 2, 3);
+
+		View[] views = table.findViews(new RootView());
+
+		assertThat(views).containsExactly(root.findViewById(3), root, null, list, root.findViewById(3));
+		assertThat(views[0]).isSameAs(nestedText);
+	}
+
+	@Test
+	public void fallsBackToFindViewByIdWithoutRootView() {
+		ViewBindingTable table = new ViewBindingTable(3, 1, 42, 2);
+
+		View[] views = table.findViews(new HasViews() {
+			@Override
+			public <T extends View> T internalFindViewById(int id) {
+				return (T) root.findViewById(id);
+			}
+		});
+
+		assertThat(views).containsExactly(nestedText, root, null, list);
+	}
+
+	@Test
+	public void emptyTableFindsNoView() {
+		assertThat(new ViewBindingTable().findViews(new RootView())).isEmpty();
+	}
+
+	private class RootView implements HasRootView {
+
+		@Override
+		public View internalGetRootView() {
+			return root;
+		}
+
+		@Override
+		public <T extends View> T internalFindViewById(int id) {
+			return (T) root.findViewById(id);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.ebean;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class LazyBeanInjectedActivityTest {
+
+	private LazyBeanInjectedActivity_ activity;
+
+	@Before
+	public void setUp() {
+		LazyCreatedBean.instanceCount = 0;
+		activity = Robolectric.buildActivity(LazyBeanInjectedActivity_.class).create().get();
+	}
+
+	@Test
+	public void lazyDependencyIsNotCreatedOnInit() {
+		assertThat(activity.lazyDependency).isNotNull();
+		assertThat(activity.providedDependency).isNotNull();
+		assertThat(LazyCreatedBean.instanceCount).isZero();
+	}
+
+	@Test
+	public void lazyDependencyIsCreatedOnce() {
+		LazyCreatedBean first = activity.lazyDependency.get();
+
+		assertThat(first).isNotNull();
+		assertThat(activity.lazyDependency.get()).isSameAs(first);
+		assertThat(LazyCreatedBean.instanceCount).isEqualTo(1);
+	}
+
+	@Test
+	public void providerCreatesDefaultScopedDependencyOnEachCall() {
+		LazyCreatedBean first = activity.providedDependency.get();
+
+		assertThat(activity.providedDependency.get()).isNotSameAs(first);
+		assertThat(LazyCreatedBean.instanceCount).isEqualTo(2);
+	}
+
+	@Test
+	public void providerReturnsActivityScopedDependency() {
+		assertThat(activity.providedActivityScopedDependency.get()).isSameAs(activity.activityScopedDependency);
+	}
+
+	@Test
+	public void providerReturnsNewFragmentScopedDependencyOutsideOfFragment() {
+		assertThat(activity.providedFragmentScopedDependency.get()).isNotNull();
+	}
+
+	@Test
+	public void lazySingletonIsTheSingleton() {
+		assertThat(activity.lazySingletonDependency.get()).isSameAs(SomeSingleton_.getInstance_(activity));
+	}
+
+	@Test
+	public void lazyDependencyWithAnnotationValueIsOfAnnotationValueType() {
+		assertThat(activity.lazyInterfaceDependency.get()).isInstanceOf(SomeImplementation.class);
+	}
+
+	@Test
+	public void methodInjectedLazyDependencyIsInjected() {
+		assertThat(activity.methodInjectedLazyDependency).isNotNull();
+		assertThat(activity.methodInjectedLazyDependency.get()).isNotNull();
+	}
+
+}
@@ -21,6 +21,12 @@ import static org.mockito.Mockito.mock;
 import static org.robolectric.Robolectric.setupActivity;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.androidannotations.api.view.HasViews;
 import org.androidannotations.api.view.OnViewChangedNotifier;
@@ -38,7 +44,7 @@ public class SomeSingletonTest {
 
 	@Before
 	public void setUp() throws Exception {
-		resetSingletonToNull();
+		resetSingletonToNull(SomeSingleton_.class);
 	}
 
 	@Test
@@ -49,6 +55,70 @@ public class SomeSingletonTest {
 		assertThat(firstInstance).isSameAs(secondInstance);
 	}
 
+	@Test
+	public void getInstanceReturnsSameInstanceAcrossThreads() throws Exception {
+		final Context context = mock(Context.class);
+		final int threadCount = 8;
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		Future<?>[] instances = new Future<?>[threadCount];
+		try {
+			for (int i = 0; i < threadCount; i++) {
+				instances[i] = executor.submit(new Callable<SomeSingleton_>() {
+					@Override
+					public SomeSingleton_ call() throws Exception {
+						startLatch.await();
+						return SomeSingleton_.getInstance_(context);
+					}
+				});
+			}
+			// an earlier test may have created the singleton already
+			resetSingletonToNull(SomeSingleton_.class);
+			startLatch.countDown();
+
+			Object firstInstance = instances[0].get(5, TimeUnit.SECONDS);
+			assertThat(firstInstance).isNotNull();
+			for (Future<?> instance : instances) {
+				assertThat(instance.get(5, TimeUnit.SECONDS)).isSameAs(firstInstance);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void cyclicSingletonsRequestedOnDifferentThreadsAreCreated() throws Exception {
+		final Context context = mock(Context.class);
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<SomeCyclicSingletonA_> singletonA = executor.submit(new Callable<SomeCyclicSingletonA_>() {
+				@Override
+				public SomeCyclicSingletonA_ call() throws Exception {
+					startLatch.await();
+					return SomeCyclicSingletonA_.getInstance_(context);
+				}
+			});
+			Future<SomeCyclicSingletonB_> singletonB = executor.submit(new Callable<SomeCyclicSingletonB_>() {
+				@Override
+				public SomeCyclicSingletonB_ call() throws Exception {
+					startLatch.await();
+					return SomeCyclicSingletonB_.getInstance_(context);
+				}
+			});
+			resetSingletonToNull(SomeCyclicSingletonA_.class);
+			resetSingletonToNull(SomeCyclicSingletonB_.class);
+			startLatch.countDown();
+
+			SomeCyclicSingletonA_ a = singletonA.get(5, TimeUnit.SECONDS);
+			SomeCyclicSingletonB_ b = singletonB.get(5, TimeUnit.SECONDS);
+			assertThat(a.singletonB).isSameAs(b);
+			assertThat(b.singletonA).isSameAs(a);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void viewsAreNotInjected() throws Exception {
 		Context context = mock(Context.class);
@@ -67,8 +137,8 @@ public class SomeSingletonTest {
 		assertThat(singleton.beanWithView.myTextView).isNull();
 	}
 
-	private void resetSingletonToNull() throws IllegalAccessException, NoSuchFieldException {
-		Field instanceField = SomeSingleton_.class.getDeclaredField("instance_");
+	private void resetSingletonToNull(Class<?> singletonClass) throws IllegalAccessException, NoSuchFieldException {
+		Field instanceField = singletonClass.getDeclaredField("instance_");
 		instanceField.setAccessible(true);
 		instanceField.set(null, null);
 	}
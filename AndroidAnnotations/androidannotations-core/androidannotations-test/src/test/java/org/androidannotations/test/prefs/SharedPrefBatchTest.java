@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.prefs;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(RobolectricTestRunner.class)
+public class SharedPrefBatchTest {
+
+	private SomePrefs_ somePrefs;
+	private WriteBehindPrefs_ writeBehindPrefs;
+
+	@Before
+	public void setUp() {
+		somePrefs = new SomePrefs_(RuntimeEnvironment.application);
+		writeBehindPrefs = new WriteBehindPrefs_(RuntimeEnvironment.application);
+	}
+
+	@Test
+	public void batchedWritesAreAppliedTogether() {
+		somePrefs.batch(new Runnable() {
+			@Override
+			public void run() {
+				somePrefs.name().put("Jane");
+				somePrefs.age().put(30);
+				somePrefs.lastUpdated().remove();
+
+				assertThat(somePrefs.name().get()).isEqualTo("John");
+				assertThat(somePrefs.age().exists()).isFalse();
+			}
+		});
+
+		assertThat(somePrefs.name().get()).isEqualTo("Jane");
+		assertThat(somePrefs.age().get()).isEqualTo(30);
+	}
+
+	@Test
+	public void nestedBatchIsAppliedByOutermostBatch() {
+		somePrefs.beginBatch();
+		somePrefs.beginBatch();
+		somePrefs.name().put("Jane");
+		somePrefs.endBatch();
+
+		assertThat(somePrefs.name().get()).isEqualTo("John");
+
+		somePrefs.endBatch();
+
+		assertThat(somePrefs.name().get()).isEqualTo("Jane");
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void endBatchWithoutBeginBatchFails() {
+		somePrefs.endBatch();
+	}
+
+	@Test
+	public void writesOutsideOfBatchAreAppliedImmediately() {
+		somePrefs.name().put("Jane");
+
+		assertThat(somePrefs.name().get()).isEqualTo("Jane");
+	}
+
+	@Test
+	public void writeBehindWritesAreAppliedAfterWindow() {
+		writeBehindPrefs.name().put("Jane");
+		writeBehindPrefs.age().put(30);
+
+		assertThat(writeBehindPrefs.name().exists()).isFalse();
+		assertThat(writeBehindPrefs.age().exists()).isFalse();
+
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+		assertThat(writeBehindPrefs.name().get()).isEqualTo("Jane");
+		assertThat(writeBehindPrefs.age().get()).isEqualTo(30);
+	}
+
+	@Test
+	public void flushAppliesWriteBehindWrites() {
+		writeBehindPrefs.name().put("Jane");
+
+		writeBehindPrefs.flush();
+
+		assertThat(writeBehindPrefs.name().get()).isEqualTo("Jane");
+	}
+
+	@Test
+	public void batchIsAppliedAfterWriteBehindWrites() {
+		writeBehindPrefs.name().put("Jane");
+
+		writeBehindPrefs.batch(new Runnable() {
+			@Override
+			public void run() {
+				writeBehindPrefs.name().put("Joe");
+			}
+		});
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+		assertThat(writeBehindPrefs.name().get()).isEqualTo("Joe");
+	}
+
+	@Test
+	public void disablingWriteBehindFlushesWrites() {
+		writeBehindPrefs.name().put("Jane");
+
+		writeBehindPrefs.setWriteBehindWindow(0);
+
+		assertThat(writeBehindPrefs.name().get()).isEqualTo("Jane");
+		writeBehindPrefs.age().put(30);
+		assertThat(writeBehindPrefs.age().get()).isEqualTo(30);
+	}
+}
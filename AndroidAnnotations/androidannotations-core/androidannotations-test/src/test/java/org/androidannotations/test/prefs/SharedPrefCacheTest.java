@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.prefs;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+@RunWith(RobolectricTestRunner.class)
+public class SharedPrefCacheTest {
+
+	private CachedPrefs_ cachedPrefs;
+	private SharedPreferences sharedPreferences;
+
+	@Before
+	public void setUp() {
+		cachedPrefs = new CachedPrefs_(RuntimeEnvironment.application);
+		sharedPreferences = RuntimeEnvironment.application.getSharedPreferences("CachedPrefs", Context.MODE_PRIVATE);
+	}
+
+	@Test
+	public void cachedFieldIsReused() {
+		assertThat(cachedPrefs.age()).isSameAs(cachedPrefs.age());
+		assertThat(cachedPrefs.married()).isSameAs(cachedPrefs.married());
+	}
+
+	@Test
+	public void cachedFieldReturnsDefaultValue() {
+		assertThat(cachedPrefs.age().get()).isEqualTo(42);
+		assertThat(cachedPrefs.age().getOr(7)).isEqualTo(7);
+	}
+
+	@Test
+	public void putInvalidatesCache() {
+		assertThat(cachedPrefs.age().get()).isEqualTo(42);
+
+		cachedPrefs.age().put(30);
+
+		assertThat(cachedPrefs.age().get()).isEqualTo(30);
+	}
+
+	@Test
+	public void externalChangeInvalidatesCache() {
+		assertThat(cachedPrefs.married().get()).isFalse();
+
+		sharedPreferences.edit().putBoolean("married", true).commit();
+
+		assertThat(cachedPrefs.married().get()).isTrue();
+	}
+
+	@Test
+	public void removeInvalidatesCache() {
+		cachedPrefs.age().put(30);
+		assertThat(cachedPrefs.age().get()).isEqualTo(30);
+
+		cachedPrefs.age().remove();
+
+		assertThat(cachedPrefs.age().get()).isEqualTo(42);
+	}
+
+	@Test
+	public void clearInvalidatesCache() {
+		cachedPrefs.age().put(30);
+		assertThat(cachedPrefs.age().get()).isEqualTo(30);
+
+		cachedPrefs.clear();
+
+		assertThat(cachedPrefs.age().get()).isEqualTo(42);
+	}
+
+	@Test
+	public void batchInvalidatesCache() {
+		assertThat(cachedPrefs.age().get()).isEqualTo(42);
+
+		cachedPrefs.batch(new Runnable() {
+			@Override
+			public void run() {
+				cachedPrefs.age().put(30);
+				assertThat(cachedPrefs.age().get()).isEqualTo(42);
+			}
+		});
+
+		assertThat(cachedPrefs.age().get()).isEqualTo(30);
+	}
+
+	@Test
+	public void uncachedFieldsAreNotReused() {
+		assertThat(cachedPrefs.name()).isNotSameAs(cachedPrefs.name());
+	}
+}
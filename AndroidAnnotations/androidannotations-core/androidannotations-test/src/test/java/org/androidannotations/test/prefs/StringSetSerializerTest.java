@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.prefs;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.androidannotations.api.sharedpreferences.SetXmlSerializer;
+import org.androidannotations.api.sharedpreferences.StringSetSerializer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class StringSetSerializerTest {
+
+	@Test
+	public void serializedSetIsDeserialized() {
+		Set<String> values = new HashSet<String>(Arrays.asList("", "a", "with:separators;", "AA_set1:1;1:a", "<AA_set>", "\u00e9\ud83d\ude00"));
+
+		assertThat(StringSetSerializer.deserialize(StringSetSerializer.serialize(values))).isEqualTo(values);
+	}
+
+	@Test
+	public void nullElementIsDeserialized() {
+		Set<String> values = new HashSet<String>(Arrays.asList("a", null));
+
+		assertThat(StringSetSerializer.deserialize(StringSetSerializer.serialize(values))).isEqualTo(values);
+	}
+
+	@Test
+	public void deserializedSetIsSorted() {
+		Set<String> values = new HashSet<String>(Arrays.asList("b", null, "c", "a"));
+
+		assertThat(StringSetSerializer.deserialize(StringSetSerializer.serialize(values))).containsExactly(null, "a", "b", "c");
+	}
+
+	@Test
+	public void nullSetIsSerializedAsEmptySet() {
+		assertThat(StringSetSerializer.deserialize(StringSetSerializer.serialize(null))).isEmpty();
+	}
+
+	@Test
+	public void largeSetIsDeserialized() {
+		Set<String> values = new HashSet<String>();
+		for (int i = 0; i < 5000; i++) {
+			values.add("value" + i);
+		}
+
+		assertThat(StringSetSerializer.deserialize(StringSetSerializer.serialize(values))).isEqualTo(values);
+	}
+
+	@Test
+	public void xmlSerializedSetIsDeserialized() {
+		Set<String> values = new HashSet<String>(Arrays.asList("1", "2", "3"));
+
+		assertThat(StringSetSerializer.deserialize(SetXmlSerializer.serialize(values))).isEqualTo(values);
+		assertThat(StringSetSerializer.deserialize(SetXmlSerializer.serialize(Collections.<String> emptySet()))).isEmpty();
+	}
+
+	@Test
+	public void truncatedSetIsNotDeserialized() {
+		String serialized = StringSetSerializer.serialize(new HashSet<String>(Arrays.asList("first", "second")));
+
+		assertThat(StringSetSerializer.deserialize(serialized.substring(0, serialized.length() - 1))).isNull();
+		assertThat(StringSetSerializer.deserialize(serialized + "x")).isNull();
+		assertThat(StringSetSerializer.deserialize("AA_set1:x;")).isNull();
+	}
+}
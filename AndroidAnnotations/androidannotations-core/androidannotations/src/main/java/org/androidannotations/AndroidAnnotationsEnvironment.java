@@ -72,14 +72,24 @@ public interface AndroidAnnotationsEnvironment {
 
 	AbstractJClass getJClass(Class<?> clazz);
 
+	/**
+	 * Prefer {@link #getDefinedClass(String, Element)}: a class generated without
+	 * any originating element may not be regenerated by incremental builds.
+	 */
 	JDefinedClass getDefinedClass(String fullyQualifiedName);
 
+	JDefinedClass getDefinedClass(String fullyQualifiedName, Element originatingElement);
+
 	GeneratedClassHolder getGeneratedClassHolder(Element element);
 
 	ClassesHolder.Classes getClasses();
 
 	List<Class<? extends Annotation>> getGeneratingAnnotations();
 
+	boolean hasGeneratingAnnotation(Element element);
+
+	boolean isEnhancedComponent(Element element);
+
 	boolean isAndroidAnnotation(String annotationQualifiedName);
 
 	List<AndroidAnnotationsPlugin> getPlugins();
@@ -20,9 +20,11 @@ import static org.androidannotations.helper.ModelConstants.VALID_ENHANCED_COMPON
 import static org.androidannotations.helper.ModelConstants.classSuffix;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,8 +36,11 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
@@ -46,6 +51,7 @@ import org.androidannotations.annotations.OnActivityResult;
 import org.androidannotations.annotations.OptionsItem;
 import org.androidannotations.annotations.ResId;
 import org.androidannotations.annotations.SeekBarTouchStop;
+import org.androidannotations.internal.model.AnnotationElements;
 import org.androidannotations.internal.rclass.RInnerClass;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
@@ -60,8 +66,34 @@ public class AnnotationHelper {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(AnnotationHelper.class);
 
+	private static final Map<TypeKind, Class<?>> PRIMITIVE_CLASSES = new EnumMap<>(TypeKind.class);
+	private static final Map<TypeKind, Class<?>> BOXED_CLASSES = new EnumMap<>(TypeKind.class);
+
+	static {
+		PRIMITIVE_CLASSES.put(TypeKind.BOOLEAN, boolean.class);
+		PRIMITIVE_CLASSES.put(TypeKind.BYTE, byte.class);
+		PRIMITIVE_CLASSES.put(TypeKind.SHORT, short.class);
+		PRIMITIVE_CLASSES.put(TypeKind.INT, int.class);
+		PRIMITIVE_CLASSES.put(TypeKind.LONG, long.class);
+		PRIMITIVE_CLASSES.put(TypeKind.CHAR, char.class);
+		PRIMITIVE_CLASSES.put(TypeKind.FLOAT, float.class);
+		PRIMITIVE_CLASSES.put(TypeKind.DOUBLE, double.class);
+
+		BOXED_CLASSES.put(TypeKind.BOOLEAN, Boolean.class);
+		BOXED_CLASSES.put(TypeKind.BYTE, Byte.class);
+		BOXED_CLASSES.put(TypeKind.SHORT, Short.class);
+		BOXED_CLASSES.put(TypeKind.INT, Integer.class);
+		BOXED_CLASSES.put(TypeKind.LONG, Long.class);
+		BOXED_CLASSES.put(TypeKind.CHAR, Character.class);
+		BOXED_CLASSES.put(TypeKind.FLOAT, Float.class);
+		BOXED_CLASSES.put(TypeKind.DOUBLE, Double.class);
+	}
+
 	private final AndroidAnnotationsEnvironment environment;
 
+	private final Map<Element, Map<String, Map<String, Object>>> annotationValuesCache = new HashMap<>();
+	private AnnotationElements annotationValuesCacheModel;
+
 	public AnnotationHelper(AndroidAnnotationsEnvironment environment) {
 		this.environment = environment;
 	}
@@ -331,28 +363,163 @@ public class AnnotationHelper {
 		return values;
 	}
 
+	/**
+	 * Reads a parameter of an annotation, as the annotation method would return
+	 * it, except that the <code>Class</code> values are returned as
+	 * {@link TypeMirror}s and the nested annotations as {@link AnnotationMirror}s.
+	 * An array parameter is returned as an array, even if the annotation uses the
+	 * single value syntax. A <code>Class</code> that cannot be resolved is returned
+	 * as an error {@link TypeMirror}, and any other value of the wrong type, as left
+	 * by a compilation error, is returned as <code>null</code>.
+	 * <p>
+	 * All the parameters of the annotation are decoded from its mirror the first
+	 * time one of them is needed, then kept until the next round.
+	 */
 	@SuppressWarnings("unchecked")
 	public <T> T extractAnnotationParameter(Element element, String annotationName, String methodName) {
+		Map<String, Object> annotationValues = annotationValues(element, annotationName);
+		if (!annotationValues.containsKey(methodName)) {
+			throw new RuntimeException("Could not find the " + methodName + " parameter of " + annotationName + " on " + element);
+		}
+		return (T) copyOfArray(annotationValues.get(methodName));
+	}
+
+	private Map<String, Object> annotationValues(Element element, String annotationName) {
+		AnnotationElements extractedModel = environment.getExtractedElements();
+		if (annotationValuesCacheModel != extractedModel) {
+			annotationValuesCache.clear();
+			annotationValuesCacheModel = extractedModel;
+		}
+
+		Map<String, Map<String, Object>> valuesByAnnotation = annotationValuesCache.get(element);
+		if (valuesByAnnotation == null) {
+			valuesByAnnotation = new HashMap<>();
+			annotationValuesCache.put(element, valuesByAnnotation);
+		}
+
+		Map<String, Object> annotationValues = valuesByAnnotation.get(annotationName);
+		if (annotationValues == null) {
+			AnnotationMirror annotationMirror = findAnnotationMirror(element, annotationName);
+			if (annotationMirror == null) {
+				throw new RuntimeException("Could not find the " + annotationName + " annotation on " + element);
+			}
+			annotationValues = decodeAnnotationValues(element, annotationName, annotationMirror);
+			valuesByAnnotation.put(annotationName, annotationValues);
+		}
+		return annotationValues;
+	}
+
+	private Map<String, Object> decodeAnnotationValues(Element element, String annotationName, AnnotationMirror annotationMirror) {
+		Map<? extends ExecutableElement, ? extends AnnotationValue> elementValues = getElementUtils().getElementValuesWithDefaults(annotationMirror);
+
+		Map<String, Object> annotationValues = new HashMap<>();
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elementValues.entrySet()) {
+			ExecutableElement annotationMethod = entry.getKey();
+			String methodName = annotationMethod.getSimpleName().toString();
+			TypeMirror returnType = annotationMethod.getReturnType();
+
+			Object value = decodeAnnotationValue(returnType, entry.getValue());
+			if (value == null && returnType.getKind() == TypeKind.DECLARED && decodedClass(returnType) == TypeMirror.class) {
+				value = unresolvedClassType(element, annotationName, methodName);
+			}
+			annotationValues.put(methodName, value);
+		}
+		return annotationValues;
+	}
+
+	/**
+	 * The mirror API only gives <code>&lt;error&gt;</code> for a
+	 * <code>Class</code> that cannot be resolved, while the annotation proxy
+	 * reports its error type, which the validators expect to reject it.
+	 */
+	@SuppressWarnings("unchecked")
+	private TypeMirror unresolvedClassType(Element element, String annotationName, String methodName) {
 		Annotation annotation;
 		try {
 			annotation = element.getAnnotation((Class<? extends Annotation>) Class.forName(annotationName));
 		} catch (ClassNotFoundException e) {
 			throw new RuntimeException("Could not load annotation class " + annotationName, e);
+		} catch (RuntimeException e) {
+			// javac cannot build the proxy when another parameter is erroneous
+			return null;
 		}
-		Method method;
 		try {
-			method = annotation.getClass().getMethod(methodName);
-			return (T) method.invoke(annotation);
+			annotation.getClass().getMethod(methodName).invoke(annotation);
 		} catch (InvocationTargetException e) {
 			if (e.getCause() instanceof MirroredTypeException) {
-				MirroredTypeException cause = (MirroredTypeException) e.getCause();
-				return (T) cause.getTypeMirror();
-			} else {
-				throw new RuntimeException(e);
+				return ((MirroredTypeException) e.getCause()).getTypeMirror();
 			}
-		} catch (Exception e) {
+		} catch (ReflectiveOperationException e) {
 			throw new RuntimeException(e);
 		}
+		return null;
+	}
+
+	private Object decodeAnnotationValue(TypeMirror type, AnnotationValue annotationValue) {
+		Object value = annotationValue.getValue();
+
+		if (type.getKind() == TypeKind.ARRAY) {
+			if (!(value instanceof List)) {
+				return null;
+			}
+			TypeMirror componentType = ((ArrayType) type).getComponentType();
+			List<?> items = (List<?>) value;
+
+			Class<?> componentClass = PRIMITIVE_CLASSES.get(componentType.getKind());
+			Object array = Array.newInstance(componentClass != null ? componentClass : decodedClass(componentType), items.size());
+			for (int i = 0; i < items.size(); i++) {
+				Object item = decodeAnnotationValue(componentType, (AnnotationValue) items.get(i));
+				if (item == null) {
+					return null;
+				}
+				Array.set(array, i, item);
+			}
+			return array;
+		}
+
+		Class<?> decodedClass = decodedClass(type);
+		if (decodedClass.isEnum() && value instanceof VariableElement) {
+			String constantName = ((VariableElement) value).getSimpleName().toString();
+			for (Object constant : decodedClass.getEnumConstants()) {
+				if (((Enum<?>) constant).name().equals(constantName)) {
+					return constant;
+				}
+			}
+			return null;
+		}
+		return decodedClass.isInstance(value) ? value : null;
+	}
+
+	private Class<?> decodedClass(TypeMirror type) {
+		Class<?> boxedClass = BOXED_CLASSES.get(type.getKind());
+		if (boxedClass != null) {
+			return boxedClass;
+		}
+
+		TypeElement typeElement = (TypeElement) getTypeUtils().asElement(type);
+		switch (typeElement.getKind()) {
+		case ENUM:
+			String enumName = getElementUtils().getBinaryName(typeElement).toString();
+			try {
+				return Class.forName(enumName);
+			} catch (ClassNotFoundException e) {
+				throw new RuntimeException("Could not load enum class " + enumName, e);
+			}
+		case ANNOTATION_TYPE:
+			return AnnotationMirror.class;
+		default:
+			return String.class.getName().equals(typeElement.getQualifiedName().toString()) ? String.class : TypeMirror.class;
+		}
+	}
+
+	private static Object copyOfArray(Object value) {
+		if (value == null || !value.getClass().isArray()) {
+			return value;
+		}
+		int length = Array.getLength(value);
+		Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+		System.arraycopy(value, 0, copy, 0, length);
+		return copy;
 	}
 
 	public String actionName(String annotationName) {
@@ -444,7 +611,7 @@ public class AnnotationHelper {
 
 	public boolean enclosingElementHasEnhancedComponentAnnotation(Element element) {
 		Element enclosingElement = element.getEnclosingElement();
-		return hasOneOfClassAnnotations(enclosingElement, VALID_ENHANCED_COMPONENT_ANNOTATIONS);
+		return environment.isEnhancedComponent(enclosingElement) || hasOneOfClassAnnotations(enclosingElement, VALID_ENHANCED_COMPONENT_ANNOTATIONS);
 	}
 
 	public boolean hasOneOfClassAnnotations(Element element, List<Class<? extends Annotation>> validAnnotations) {
@@ -16,19 +16,25 @@
  */
 package org.androidannotations.helper;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.lang.model.element.Element;
 
 import org.androidannotations.ElementValidation;
 import org.androidannotations.annotations.ResId;
+import org.androidannotations.internal.model.AnnotationElements;
 import org.androidannotations.rclass.IRClass.Res;
 
 public class IdValidatorHelper extends ValidatorHelper {
 
 	private final IdAnnotationHelper idAnnotationHelper;
 
+	private ResourceIdIndex resourceIdIndex;
+
 	public IdValidatorHelper(IdAnnotationHelper idAnnotationHelper) {
 		super(idAnnotationHelper);
 		this.idAnnotationHelper = idAnnotationHelper;
@@ -82,33 +88,82 @@ public class IdValidatorHelper extends ValidatorHelper {
 		}
 	}
 
+	/**
+	 * Checks that the resource ids of the element are not already used by a valid
+	 * element with the same annotation in the same enclosing type. The elements
+	 * are indexed by enclosing type and id during the validation round, so each
+	 * element only costs a few lookups. As the elements are validated in source
+	 * order, the first valid element using an id keeps it.
+	 */
 	public void uniqueResourceId(Element element, Res resourceType, ElementValidation valid) {
 		if (valid.isValid()) {
 
 			List<String> annotationQualifiedIds = idAnnotationHelper.extractAnnotationResources(element, resourceType, true);
 
-			Element elementEnclosingElement = element.getEnclosingElement();
-			Set<? extends Element> annotatedElements = validatedModel().getRootAnnotatedElements(annotationHelper.getTarget());
+			Set<? extends Element> validatedElements = validatedModel().getRootAnnotatedElements(annotationHelper.getTarget());
+			Map<String, List<Element>> enclosingElementIds = resourceIdIndex().idsOf(element.getEnclosingElement());
+
+			for (String annotationQualifiedId : annotationQualifiedIds) {
+				List<Element> uniqueCheckElements = enclosingElementIds.get(annotationQualifiedId);
+				if (uniqueCheckElements == null) {
+					continue;
+				}
+
+				for (Element uniqueCheckElement : uniqueCheckElements) {
+					if (validatedElements.contains(uniqueCheckElement)) {
+						String annotationSimpleId = annotationQualifiedId.substring(annotationQualifiedId.lastIndexOf('.') + 1);
+						valid.addError("The resource id " + annotationSimpleId + " is already used on the following " + annotationHelper.annotationName() + " method: " + uniqueCheckElement);
+						return;
+					}
+				}
+			}
+
+			/*
+			 * The element is indexed now, but only blocks these ids once it is in the
+			 * validated model, since a later check of its handler may invalidate it.
+			 */
+			for (String annotationQualifiedId : annotationQualifiedIds) {
+				List<Element> uniqueCheckElements = enclosingElementIds.get(annotationQualifiedId);
+				if (uniqueCheckElements == null) {
+					uniqueCheckElements = new ArrayList<>(1);
+					enclosingElementIds.put(annotationQualifiedId, uniqueCheckElements);
+				}
+				if (!uniqueCheckElements.contains(element)) {
+					uniqueCheckElements.add(element);
+				}
+			}
+		}
+	}
 
-			for (Element uniqueCheckElement : annotatedElements) {
-				Element uniqueCheckEnclosingElement = uniqueCheckElement.getEnclosingElement();
+	private ResourceIdIndex resourceIdIndex() {
+		AnnotationElements validatedModel = validatedModel();
+		if (resourceIdIndex == null || resourceIdIndex.validatedModel != validatedModel) {
+			resourceIdIndex = new ResourceIdIndex(validatedModel);
+		}
+		return resourceIdIndex;
+	}
 
-				if (elementEnclosingElement.equals(uniqueCheckEnclosingElement)) {
+	/**
+	 * The elements using each resource id in each enclosing type, in source
+	 * order, for one validation round. A new round comes with a new validated
+	 * model, which resets the index.
+	 */
+	private static final class ResourceIdIndex {
 
-					List<String> checkQualifiedIds = idAnnotationHelper.extractAnnotationResources(uniqueCheckElement, resourceType, true);
+		private final AnnotationElements validatedModel;
+		private final Map<Element, Map<String, List<Element>>> idsByEnclosingElement = new HashMap<>();
 
-					for (String checkQualifiedId : checkQualifiedIds) {
-						for (String annotationQualifiedId : annotationQualifiedIds) {
+		ResourceIdIndex(AnnotationElements validatedModel) {
+			this.validatedModel = validatedModel;
+		}
 
-							if (annotationQualifiedId.equals(checkQualifiedId)) {
-								String annotationSimpleId = annotationQualifiedId.substring(annotationQualifiedId.lastIndexOf('.') + 1);
-								valid.addError("The resource id " + annotationSimpleId + " is already used on the following " + annotationHelper.annotationName() + " method: " + uniqueCheckElement);
-								return;
-							}
-						}
-					}
-				}
+		Map<String, List<Element>> idsOf(Element enclosingElement) {
+			Map<String, List<Element>> ids = idsByEnclosingElement.get(enclosingElement);
+			if (ids == null) {
+				ids = new HashMap<>();
+				idsByEnclosingElement.put(enclosingElement, ids);
 			}
+			return ids;
 		}
 	}
 
@@ -207,11 +207,15 @@ public class ValidatorHelper {
 	}
 
 	public void enclosingElementHasEnhancedComponentAnnotation(Element element, ElementValidation valid) {
-		enclosingElementHasOneOfAnnotations(element, VALID_ENHANCED_COMPONENT_ANNOTATIONS, valid);
+		if (!environment().isEnhancedComponent(element.getEnclosingElement())) {
+			enclosingElementHasOneOfAnnotations(element, VALID_ENHANCED_COMPONENT_ANNOTATIONS, valid);
+		}
 	}
 
 	public void enclosingElementHasAndroidAnnotation(Element element, ElementValidation valid) {
-		enclosingElementHasOneOfAnnotations(element, environment().getGeneratingAnnotations(), valid);
+		if (!environment().hasGeneratingAnnotation(element.getEnclosingElement())) {
+			enclosingElementHasOneOfAnnotations(element, environment().getGeneratingAnnotations(), valid);
+		}
 	}
 
 	private void hasAnnotation(Element element, Element reportElement, Class<? extends Annotation> validAnnotation, ElementValidation valid) {
@@ -340,6 +344,22 @@ public class ValidatorHelper {
 		typeHasValidAnnotation(annotation, targetElement, valid);
 	}
 
+	public void typeOrTargetValueHasAnnotation(Class<? extends Annotation> annotation, Element element, DeclaredType targetType, ElementValidation valid) {
+		Element targetElement = targetType.asElement();
+
+		DeclaredType targetAnnotationClassValue = annotationHelper.extractAnnotationClassParameter(element);
+
+		if (targetAnnotationClassValue != null) {
+			targetElement = targetAnnotationClassValue.asElement();
+
+			if (!annotationHelper.getTypeUtils().isAssignable(targetAnnotationClassValue, targetType)) {
+				valid.addError("The value of %s must be assignable into the type argument of the annotated field");
+			}
+		}
+
+		typeHasValidAnnotation(annotation, targetElement, valid);
+	}
+
 	Element findTargetElement(Element element, ElementValidation valid) {
 		if (element instanceof ExecutableElement) {
 			ExecutableElement executableElement = (ExecutableElement) element;
@@ -411,6 +411,11 @@ public class EActivityHolder extends EComponentWithViewSupportHolder
 		return JExpr._this().invoke("findViewById").arg(idParam);
 	}
 
+	@Override
+	public IJExpression getRootViewExpression() {
+		return JExpr._this().invoke("getWindow").invoke("getDecorView");
+	}
+
 	public JVar getInitSavedInstanceParam() {
 		return initSavedInstanceParam;
 	}
@@ -22,6 +22,7 @@ import static com.helger.jcodemodel.JExpr.cast;
 import static com.helger.jcodemodel.JMod.PRIVATE;
 import static com.helger.jcodemodel.JMod.PUBLIC;
 import static com.helger.jcodemodel.JMod.STATIC;
+import static com.helger.jcodemodel.JMod.VOLATILE;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import java.util.List;
@@ -33,14 +34,18 @@ import javax.lang.model.util.ElementFilter;
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.api.bean.BeanHolder;
+import org.androidannotations.api.bean.SingletonLock;
 
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JConditional;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JSynchronizedBlock;
+import com.helger.jcodemodel.JTryBlock;
 import com.helger.jcodemodel.JVar;
 
 public class EBeanHolder extends EComponentWithViewSupportHolder {
@@ -151,19 +156,49 @@ public class EBeanHolder extends EComponentWithViewSupportHolder {
 			break;
 
 		case Singleton:
-			JFieldVar instanceField = generatedClass.field(PRIVATE | STATIC, generatedClass, "instance" + generationSuffix());
-
-			JBlock creationBlock = factoryMethodBody._if(instanceField.eq(_null()))._then();
-			JVar previousNotifier = viewNotifierHelper.replacePreviousNotifierWithNull(creationBlock);
-			creationBlock.assign(instanceField, _new(narrowedGeneratedClass).arg(factoryMethodContextParam.invoke("getApplicationContext")));
-			creationBlock.invoke(instanceField, getInit());
-			viewNotifierHelper.resetPreviousNotifier(creationBlock, previousNotifier);
-
-			factoryMethodBody._return(instanceField);
+			createSingletonFactoryMethodBody(narrowedGeneratedClass, factoryMethodContextParam, factoryMethodBody);
 			break;
 		}
 	}
 
+	/**
+	 * Generates a double-checked initialization of the singleton: once it is
+	 * initialized, getting the instance is a single volatile read. The instance is
+	 * only published once its init method has returned, so that no other thread
+	 * can see a partially initialized bean.
+	 * 
+	 * The beans injected in the singleton may inject it in return: while the
+	 * singleton is initialized, the initializing thread (the only one holding the
+	 * lock) gets the instance being initialized. The lock is shared by all the
+	 * singletons, so that two singletons injecting each other cannot deadlock when
+	 * they are first requested on different threads.
+	 */
+	private void createSingletonFactoryMethodBody(AbstractJClass narrowedGeneratedClass, JVar factoryMethodContextParam, JBlock factoryMethodBody) {
+		JFieldVar instanceField = generatedClass.field(PRIVATE | STATIC | VOLATILE, generatedClass, "instance" + generationSuffix());
+		JFieldVar initializingInstanceField = generatedClass.field(PRIVATE | STATIC, generatedClass, "initializingInstance" + generationSuffix());
+
+		JVar instanceVar = factoryMethodBody.decl(generatedClass, "instance", instanceField);
+
+		JSynchronizedBlock synchronizedBlock = factoryMethodBody._if(instanceVar.eq(_null()))._then().synchronizedBlock(getJClass(SingletonLock.class).staticRef("LOCK"));
+		JBlock lockedBlock = synchronizedBlock.body();
+		lockedBlock.assign(instanceVar, instanceField);
+
+		JConditional instanceIsNull = lockedBlock._if(instanceVar.eq(_null()));
+		JBlock creationBlock = instanceIsNull._then();
+		creationBlock._if(initializingInstanceField.ne(_null()))._then()._return(initializingInstanceField);
+
+		JVar previousNotifier = viewNotifierHelper.replacePreviousNotifierWithNull(creationBlock);
+		creationBlock.assign(instanceVar, _new(narrowedGeneratedClass).arg(factoryMethodContextParam.invoke("getApplicationContext")));
+		creationBlock.assign(initializingInstanceField, instanceVar);
+		JTryBlock initTryBlock = creationBlock._try();
+		initTryBlock.body().invoke(instanceVar, getInit());
+		initTryBlock._finally().assign(initializingInstanceField, _null());
+		viewNotifierHelper.resetPreviousNotifier(creationBlock, previousNotifier);
+		creationBlock.assign(instanceField, instanceVar);
+
+		factoryMethodBody._return(instanceVar);
+	}
+
 	private void createOverloadedFactoryMethod(EBean.Scope scope) {
 		AbstractJClass narrowedGeneratedClass = codeModelHelper.narrowGeneratedClass(generatedClass, annotatedElement.asType());
 		JMethod factoryMethod = generatedClass.method(PUBLIC | STATIC, narrowedGeneratedClass, GET_INSTANCE_METHOD_NAME);
@@ -21,9 +21,12 @@ import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JExpr._this;
 import static com.helger.jcodemodel.JExpr.cast;
 import static com.helger.jcodemodel.JExpr.invoke;
+import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JMod.FINAL;
 import static com.helger.jcodemodel.JMod.PRIVATE;
 import static com.helger.jcodemodel.JMod.PUBLIC;
+import static com.helger.jcodemodel.JMod.STATIC;
+import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -33,10 +36,12 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.Option;
 import org.androidannotations.api.bean.BeanHolder;
 import org.androidannotations.api.view.HasViews;
 import org.androidannotations.api.view.OnViewChangedListener;
 import org.androidannotations.api.view.OnViewChangedNotifier;
+import org.androidannotations.api.view.ViewBindingTable;
 import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.internal.helper.ViewNotifierHelper;
 
@@ -56,6 +61,8 @@ import com.helger.jcodemodel.JVar;
 
 public abstract class EComponentWithViewSupportHolder extends EComponentHolder implements HasKeyEventCallbackMethods {
 
+	public static final Option OPTION_SINGLE_PASS_VIEW_BINDING = new Option("singlePassViewBinding", "false");
+
 	protected ViewNotifierHelper viewNotifierHelper;
 	private JMethod onViewChanged;
 	private JBlock onViewChangedBody;
@@ -64,6 +71,9 @@ public abstract class EComponentWithViewSupportHolder extends EComponentHolder i
 	private JBlock onViewChangedBodyAfterInjectionBlock;
 	private JBlock onViewChangedBodyBeforeInjectionBlock;
 	private JVar onViewChangedHasViewsParam;
+	private JInvocation viewBindingTableIds;
+	private JVar boundViews;
+	private int boundViewCount;
 	protected Map<String, FoundHolder> foundHolders = new HashMap<>();
 	protected DataBindingDelegate dataBindingDelegate;
 	protected JMethod findNativeFragmentById;
@@ -86,6 +96,19 @@ public abstract class EComponentWithViewSupportHolder extends EComponentHolder i
 		return _null();
 	}
 
+	/**
+	 * @return the view searched by the expression returned by
+	 *         {@link #getFindViewByIdExpression(JVar)}, or <code>null</code> if
+	 *         the views can only be found by id
+	 */
+	public IJExpression getRootViewExpression() {
+		return _null();
+	}
+
+	public boolean isSinglePassViewBinding() {
+		return getEnvironment().getOptionBooleanValue(OPTION_SINGLE_PASS_VIEW_BINDING);
+	}
+
 	public JBlock getOnViewChangedBody() {
 		if (onViewChangedBody == null) {
 			setOnViewChanged();
@@ -185,14 +208,34 @@ public abstract class EComponentWithViewSupportHolder extends EComponentHolder i
 		return foundViewHolder;
 	}
 
-	protected FoundViewHolder createFoundViewAndIfNotNullBlock(JFieldRef idRef, AbstractJClass viewClass, IJAssignmentTarget fieldRef) {
-		IJExpression findViewExpression = findViewById(idRef);
-		JBlock block = getOnViewChangedBodyBeforeInjectionBlock();
+	/**
+	 * Adds the id to the binding table of the component, which finds all the
+	 * views in a single traversal when the view changes.
+	 *
+	 * @return the view found for this id
+	 */
+	public IJExpression findViewInBindingTable(JFieldRef idRef, AbstractJClass viewClass) {
+		if (viewBindingTableIds == null) {
+			AbstractJClass viewBindingTableClass = getJClass(ViewBindingTable.class);
+			viewBindingTableIds = _new(viewBindingTableClass);
+			JFieldVar viewBindingTable = getGeneratedClass().field(PRIVATE | STATIC | FINAL, viewBindingTableClass, "viewBindingTable" + generationSuffix(), viewBindingTableIds);
+			boundViews = getOnViewChangedBodyBeforeInjectionBlock().decl(getClasses().VIEW.array(), "boundViews" + generationSuffix(),
+					viewBindingTable.invoke("findViews").arg(getOnViewChangedHasViewsParam()));
+		}
+
+		viewBindingTableIds.arg(idRef);
+		IJExpression boundView = JExpr.component(boundViews, lit(boundViewCount++));
+		return viewClass.equals(getClasses().VIEW) ? boundView : cast(viewClass, boundView);
+	}
 
+	protected FoundViewHolder createFoundViewAndIfNotNullBlock(JFieldRef idRef, AbstractJClass viewClass, IJAssignmentTarget fieldRef) {
 		if (viewClass == null) {
 			viewClass = getClasses().VIEW;
 		}
 
+		IJExpression findViewExpression = isSinglePassViewBinding() ? findViewInBindingTable(idRef, viewClass) : findViewById(idRef);
+		JBlock block = getOnViewChangedBodyBeforeInjectionBlock();
+
 		IJAssignmentTarget foundView = fieldRef;
 		if (foundView == null) {
 			JVar view = block.decl(viewClass, "view_" + idRef.name(), findViewExpression);
@@ -129,6 +129,11 @@ public class EFragmentHolder extends EComponentWithViewSupportHolder
 		return cond(contentView.eq(_null()), _null(), invocation);
 	}
 
+	@Override
+	public IJExpression getRootViewExpression() {
+		return getContentView();
+	}
+
 	private void setFragmentBuilder() throws JClassAlreadyExistsException {
 		fragmentBuilderClass = generatedClass._class(PUBLIC | STATIC, "FragmentBuilder" + generationSuffix());
 
@@ -16,6 +16,7 @@
  */
 package org.androidannotations.internal;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -43,6 +44,7 @@ import org.androidannotations.internal.exception.VersionNotFoundException;
 import org.androidannotations.internal.generation.CodeModelGenerator;
 import org.androidannotations.internal.helper.AndroidManifestFinder;
 import org.androidannotations.internal.helper.ErrorHelper;
+import org.androidannotations.internal.helper.FileHelper;
 import org.androidannotations.internal.model.AnnotationElements;
 import org.androidannotations.internal.model.AnnotationElementsHolder;
 import org.androidannotations.internal.model.ModelExtractor;
@@ -75,6 +77,7 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 		androidAnnotationsEnv = new InternalAndroidAnnotationsEnvironment(processingEnv);
 
 		ModelConstants.init(androidAnnotationsEnv);
+		timeStats.setProfiling(androidAnnotationsEnv.getOptionValue(TimeStats.OPTION_PROFILING_REPORT) != null);
 
 		// Configure Logger
 		LoggerContext loggerContext = LoggerContext.getInstance();
@@ -132,12 +135,32 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 		timeStats.stop("Whole Processing");
 		timeStats.logStats();
 
+		if (roundEnv.processingOver()) {
+			writeProfilingReport();
+		}
+
 		LOGGER.info("Finish processing");
 
 		LoggerContext.getInstance().close(roundEnv.processingOver());
 		return true;
 	}
 
+	private void writeProfilingReport() {
+		String profilingReport = androidAnnotationsEnv.getOptionValue(TimeStats.OPTION_PROFILING_REPORT);
+		if (profilingReport == null) {
+			return;
+		}
+
+		try {
+			File outputDirectory = FileHelper.resolveOutputDirectory(processingEnv);
+			File reportFile = new File(profilingReport.replace("{outputFolder}", outputDirectory.getAbsolutePath()));
+			timeStats.writeReport(reportFile);
+			LOGGER.info("Profiling report written to {}", reportFile.getAbsolutePath());
+		} catch (IOException e) {
+			LOGGER.warn("Can't write the profiling report {}: {}", profilingReport, e.getMessage());
+		}
+	}
+
 	private void checkApiAndProcessorVersions() throws VersionMismatchException {
 		for (AndroidAnnotationsPlugin plugin : androidAnnotationsEnv.getPlugins()) {
 			if (plugin.shouldCheckApiAndProcessorVersions() && !plugin.getApiVersion().equals(plugin.getVersion())) {
@@ -212,7 +235,7 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 
 	private AnnotationElements validateAnnotations(AnnotationElements extractedModel, AnnotationElementsHolder validatingHolder) {
 		timeStats.start("Validate Annotations");
-		ModelValidator modelValidator = new ModelValidator(androidAnnotationsEnv);
+		ModelValidator modelValidator = new ModelValidator(androidAnnotationsEnv, timeStats);
 		AnnotationElements validatedAnnotations = modelValidator.validate(extractedModel, validatingHolder);
 		timeStats.stop("Validate Annotations");
 		return validatedAnnotations;
@@ -220,7 +243,7 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 
 	private ModelProcessor.ProcessResult processAnnotations(AnnotationElements validatedModel) throws Exception {
 		timeStats.start("Process Annotations");
-		ModelProcessor modelProcessor = new ModelProcessor(androidAnnotationsEnv);
+		ModelProcessor modelProcessor = new ModelProcessor(androidAnnotationsEnv, timeStats);
 		ModelProcessor.ProcessResult processResult = modelProcessor.process(validatedModel);
 		timeStats.stop("Process Annotations");
 		return processResult;
@@ -228,7 +251,9 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 
 	private void generateSources(ModelProcessor.ProcessResult processResult) throws IOException {
 		timeStats.start("Generate Sources");
-		LOGGER.info("Number of files generated by AndroidAnnotations: {}", processResult.codeModel.countArtifacts());
+		int generatedArtifacts = processResult.codeModel.countArtifacts();
+		timeStats.addGeneratedArtifacts(generatedArtifacts);
+		LOGGER.info("Number of files generated by AndroidAnnotations: {}", generatedArtifacts);
 		CodeModelGenerator modelGenerator = new CodeModelGenerator(processingEnv.getFiler(), coreVersion, androidAnnotationsEnv.getOptionValue(CodeModelGenerator.OPTION_ENCODING));
 		modelGenerator.generate(processResult);
 		timeStats.stop("Generate Sources");
@@ -32,6 +32,7 @@ public class AnnotationHandlers {
 	private List<GeneratingAnnotationHandler<?>> generatingAnnotationHandlers = new ArrayList<>();
 	private List<AnnotationHandler<?>> decoratingAnnotationHandlers = new ArrayList<>();
 	private Set<String> supportedAnnotationNames;
+	private List<Class<? extends Annotation>> generatingAnnotations;
 
 	public AnnotationHandlers() {
 	}
@@ -80,13 +81,16 @@ public class AnnotationHandlers {
 
 	@SuppressWarnings("unchecked")
 	public List<Class<? extends Annotation>> getGeneratingAnnotations() {
-		List<Class<? extends Annotation>> generatingAnnotations = new ArrayList<>();
-		for (GeneratingAnnotationHandler generatingAnnotationHandler : getGenerating()) {
-			try {
-				generatingAnnotations.add((Class<? extends Annotation>) Class.forName(generatingAnnotationHandler.getTarget()));
-			} catch (ClassNotFoundException | ClassCastException e) {
-				throw new RuntimeException(e);
+		if (generatingAnnotations == null) {
+			List<Class<? extends Annotation>> annotations = new ArrayList<>();
+			for (GeneratingAnnotationHandler generatingAnnotationHandler : getGenerating()) {
+				try {
+					annotations.add((Class<? extends Annotation>) Class.forName(generatingAnnotationHandler.getTarget()));
+				} catch (ClassNotFoundException | ClassCastException e) {
+					throw new RuntimeException(e);
+				}
 			}
+			generatingAnnotations = Collections.unmodifiableList(annotations);
 		}
 		return generatingAnnotations;
 	}
@@ -16,7 +16,11 @@
  */
 package org.androidannotations.internal;
 
+import static org.androidannotations.helper.ModelConstants.VALID_ENHANCED_COMPONENT_ANNOTATIONS;
+
 import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -52,6 +56,10 @@ public class InternalAndroidAnnotationsEnvironment implements AndroidAnnotations
 
 	private AnnotationElements extractedElements;
 
+	private Set<Element> generatingAnnotatedElements = Collections.emptySet();
+
+	private Set<Element> enhancedComponentElements = Collections.emptySet();
+
 	private AnnotationElements validatedElements;
 
 	private ProcessHolder processHolder;
@@ -79,8 +87,23 @@ public class InternalAndroidAnnotationsEnvironment implements AndroidAnnotations
 		this.androidManifest = androidManifest;
 	}
 
+	/**
+	 * Also indexes, for the whole round, the elements annotated with a generating
+	 * annotation or with an enhanced component annotation, because almost every
+	 * handler checks the enclosing element of its annotated elements.
+	 */
 	public void setExtractedElements(AnnotationElements extractedElements) {
 		this.extractedElements = extractedElements;
+		generatingAnnotatedElements = annotatedElements(extractedElements, getGeneratingAnnotations());
+		enhancedComponentElements = annotatedElements(extractedElements, VALID_ENHANCED_COMPONENT_ANNOTATIONS);
+	}
+
+	private static Set<Element> annotatedElements(AnnotationElements annotationElements, List<Class<? extends Annotation>> annotations) {
+		Set<Element> elements = new HashSet<>();
+		for (Class<? extends Annotation> annotation : annotations) {
+			elements.addAll(annotationElements.getRootAnnotatedElements(annotation.getName()));
+		}
+		return elements;
 	}
 
 	public void setValidatedElements(AnnotationElements validatedElements) {
@@ -185,6 +208,13 @@ public class InternalAndroidAnnotationsEnvironment implements AndroidAnnotations
 		return classesHolder.definedClass(fullyQualifiedName);
 	}
 
+	@Override
+	public JDefinedClass getDefinedClass(String fullyQualifiedName, Element originatingElement) {
+		JDefinedClass definedClass = classesHolder.definedClass(fullyQualifiedName);
+		processHolder.addOriginatingElement(fullyQualifiedName, originatingElement);
+		return definedClass;
+	}
+
 	@Override
 	public GeneratedClassHolder getGeneratedClassHolder(Element element) {
 		return processHolder.getGeneratedClassHolder(element);
@@ -200,6 +230,16 @@ public class InternalAndroidAnnotationsEnvironment implements AndroidAnnotations
 		return annotationHandlers.getGeneratingAnnotations();
 	}
 
+	@Override
+	public boolean hasGeneratingAnnotation(Element element) {
+		return generatingAnnotatedElements.contains(element);
+	}
+
+	@Override
+	public boolean isEnhancedComponent(Element element) {
+		return enhancedComponentElements.contains(element);
+	}
+
 	@Override
 	public boolean isAndroidAnnotation(String annotationQualifiedName) {
 		return getSupportedAnnotationTypes().contains(annotationQualifiedName);
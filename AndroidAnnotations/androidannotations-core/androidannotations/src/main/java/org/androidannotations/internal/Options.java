@@ -26,8 +26,10 @@ import javax.annotation.processing.ProcessingEnvironment;
 import org.androidannotations.Option;
 import org.androidannotations.helper.ModelConstants;
 import org.androidannotations.holder.BaseGeneratedClassHolder;
+import org.androidannotations.holder.EComponentWithViewSupportHolder;
 import org.androidannotations.internal.generation.CodeModelGenerator;
 import org.androidannotations.internal.helper.AndroidManifestFinder;
+import org.androidannotations.internal.process.TimeStats;
 import org.androidannotations.internal.rclass.ProjectRClassFinder;
 import org.androidannotations.logger.LoggerContext;
 import org.androidannotations.logger.appender.FileAppender;
@@ -51,6 +53,8 @@ public class Options {
 		addSupportedOption(LoggerContext.OPTION_LOG_APPENDER_FILE);
 		addSupportedOption(BaseGeneratedClassHolder.OPTION_GENERATE_FINAL_CLASSES);
 		addSupportedOption(CodeModelGenerator.OPTION_ENCODING);
+		addSupportedOption(TimeStats.OPTION_PROFILING_REPORT);
+		addSupportedOption(EComponentWithViewSupportHolder.OPTION_SINGLE_PASS_VIEW_BINDING);
 	}
 
 	public void addAllSupportedOptions(List<Option> options) {
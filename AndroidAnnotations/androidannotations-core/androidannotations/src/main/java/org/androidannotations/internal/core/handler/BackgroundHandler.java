@@ -22,6 +22,7 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.ElementValidation;
 import org.androidannotations.annotations.Background;
 import org.androidannotations.api.BackgroundExecutor;
 import org.androidannotations.holder.EComponentHolder;
@@ -43,6 +44,15 @@ public class BackgroundHandler extends AbstractRunnableHandler {
 		super(Background.class, environment);
 	}
 
+	@Override
+	public void validate(Element element, ElementValidation validation) {
+		super.validate(element, validation);
+
+		coreValidatorHelper.hasIdOrSerialIfBounded(element, validation);
+
+		coreValidatorHelper.backgroundHasIdIfDebounced(element, validation);
+	}
+
 	@Override
 	public void process(Element element, EComponentHolder holder) throws Exception {
 		ExecutableElement executableElement = (ExecutableElement) element;
@@ -72,10 +82,23 @@ public class BackgroundHandler extends AbstractRunnableHandler {
 		String id = annotation.id();
 		long delay = annotation.delay();
 		String serial = annotation.serial();
+		String executor = annotation.executor();
 
 		AbstractJClass backgroundExecutorClass = getJClass(BackgroundExecutor.class);
 		JInvocation newTask = _new(anonymousTaskClass).arg(lit(id)).arg(lit(delay)).arg(lit(serial));
-		JInvocation executeCall = backgroundExecutorClass.staticInvoke("execute").arg(newTask);
+		if (!executor.isEmpty()) {
+			newTask.arg(lit(executor));
+		}
+		JInvocation executeCall;
+		long debounce = annotation.debounce();
+		int maxPending = annotation.maxPending();
+		if (debounce > 0) {
+			executeCall = backgroundExecutorClass.staticInvoke("executeDebounced").arg(newTask).arg(lit(debounce));
+		} else if (maxPending > 0) {
+			executeCall = backgroundExecutorClass.staticInvoke("execute").arg(newTask).arg(lit(maxPending)).arg(getJClass(Background.Overflow.class).staticRef(annotation.overflow().name()));
+		} else {
+			executeCall = backgroundExecutorClass.staticInvoke("execute").arg(newTask);
+		}
 
 		delegatingMethod.body().add(executeCall);
 	}
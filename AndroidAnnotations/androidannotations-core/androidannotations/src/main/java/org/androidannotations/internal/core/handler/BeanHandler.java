@@ -16,18 +16,63 @@
  */
 package org.androidannotations.internal.core.handler;
 
+import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._null;
+import static com.helger.jcodemodel.JMod.FINAL;
+import static com.helger.jcodemodel.JMod.PROTECTED;
+import static com.helger.jcodemodel.JMod.PUBLIC;
+import static java.util.Arrays.asList;
+import static org.androidannotations.helper.ModelConstants.generationSuffix;
+
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
+import org.androidannotations.annotations.AfterTextChange;
+import org.androidannotations.annotations.AfterViews;
 import org.androidannotations.annotations.Bean;
+import org.androidannotations.annotations.BeforeTextChange;
+import org.androidannotations.annotations.BindingObject;
+import org.androidannotations.annotations.CheckedChange;
+import org.androidannotations.annotations.Click;
 import org.androidannotations.annotations.EBean;
+import org.androidannotations.annotations.EditorAction;
+import org.androidannotations.annotations.FocusChange;
+import org.androidannotations.annotations.FragmentById;
+import org.androidannotations.annotations.FragmentByTag;
+import org.androidannotations.annotations.FromHtml;
+import org.androidannotations.annotations.ItemClick;
+import org.androidannotations.annotations.ItemLongClick;
+import org.androidannotations.annotations.ItemSelect;
+import org.androidannotations.annotations.LongClick;
 import org.androidannotations.annotations.NonConfigurationInstance;
+import org.androidannotations.annotations.PageScrollStateChanged;
+import org.androidannotations.annotations.PageScrolled;
+import org.androidannotations.annotations.PageSelected;
+import org.androidannotations.annotations.SeekBarProgressChange;
+import org.androidannotations.annotations.SeekBarTouchStart;
+import org.androidannotations.annotations.SeekBarTouchStop;
+import org.androidannotations.annotations.TextChange;
+import org.androidannotations.annotations.Touch;
+import org.androidannotations.annotations.ViewById;
+import org.androidannotations.annotations.ViewsById;
+import org.androidannotations.api.bean.AbstractLazy;
+import org.androidannotations.api.bean.Lazy;
+import org.androidannotations.api.bean.Provider;
+import org.androidannotations.api.view.OnViewChangedListener;
+import org.androidannotations.api.view.OnViewChangedNotifier;
 import org.androidannotations.handler.BaseAnnotationHandler;
 import org.androidannotations.handler.MethodInjectionHandler;
 import org.androidannotations.helper.InjectHelper;
@@ -39,10 +84,22 @@ import com.helger.jcodemodel.IJAssignmentTarget;
 import com.helger.jcodemodel.IJStatement;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JConditional;
+import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JInvocation;
+import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JVar;
 
 public class BeanHandler extends BaseAnnotationHandler<EComponentHolder> implements MethodInjectionHandler<EComponentHolder> {
 
+	/**
+	 * The annotations which make a bean register itself to the
+	 * {@link OnViewChangedNotifier} of the component being initialized.
+	 */
+	private static final List<Class<? extends Annotation>> VIEW_SUPPORT_ANNOTATIONS = asList(ViewById.class, ViewsById.class, AfterViews.class, Click.class, LongClick.class, Touch.class,
+			ItemClick.class, ItemLongClick.class, ItemSelect.class, CheckedChange.class, FocusChange.class, EditorAction.class, TextChange.class, BeforeTextChange.class, AfterTextChange.class,
+			SeekBarProgressChange.class, SeekBarTouchStart.class, SeekBarTouchStop.class, PageScrolled.class, PageScrollStateChanged.class, PageSelected.class, FragmentById.class,
+			FragmentByTag.class, FromHtml.class, BindingObject.class);
+
 	private final InjectHelper<EComponentHolder> injectHelper;
 
 	public BeanHandler(AndroidAnnotationsEnvironment environment) {
@@ -57,11 +114,134 @@ public class BeanHandler extends BaseAnnotationHandler<EComponentHolder> impleme
 			return;
 		}
 
-		validatorHelper.typeOrTargetValueHasAnnotation(EBean.class, element, validation);
+		DeclaredType deferredBeanType = getDeferredBeanType(getInjectedElement(element));
+		if (deferredBeanType == null) {
+			validatorHelper.typeOrTargetValueHasAnnotation(EBean.class, element, validation);
+		} else {
+			List<? extends TypeMirror> typeArguments = deferredBeanType.getTypeArguments();
+			if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+				validation.addError("%s must declare the type of the injected bean as type argument");
+				return;
+			}
+
+			validatorHelper.typeOrTargetValueHasAnnotation(EBean.class, element, (DeclaredType) typeArguments.get(0), validation);
+
+			TypeMirror beanType = annotationHelper.extractAnnotationClassParameter(element);
+			if (beanType == null) {
+				beanType = typeArguments.get(0);
+			}
+			if (usesViews(beanType, new HashSet<TypeElement>())) {
+				validation.addError("%s cannot inject a Lazy or a Provider of " + beanType + ", because a bean using views must be created with the component to be notified of its view changes");
+			}
+
+			if (element.getAnnotation(NonConfigurationInstance.class) != null) {
+				validation.addError("%s cannot be annotated with @" + NonConfigurationInstance.class.getName() + " when injecting a Lazy or a Provider");
+			}
+		}
 
 		validatorHelper.isNotPrivate(element, validation);
 	}
 
+	private Element getInjectedElement(Element element) {
+		if (element instanceof ExecutableElement) {
+			List<? extends Element> parameters = ((ExecutableElement) element).getParameters();
+			return parameters.size() == 1 ? parameters.get(0) : element;
+		}
+		return element;
+	}
+
+	/**
+	 * @return the {@link Lazy} or {@link Provider} type of the element, or
+	 *         <code>null</code> if the bean is directly injected
+	 */
+	private DeclaredType getDeferredBeanType(Element element) {
+		TypeMirror type = element.asType();
+		if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+
+		Types typeUtils = getProcessingEnvironment().getTypeUtils();
+		String erasedTypeName = typeUtils.erasure(type).toString();
+		if (Lazy.class.getCanonicalName().equals(erasedTypeName) || Provider.class.getCanonicalName().equals(erasedTypeName)) {
+			return (DeclaredType) type;
+		}
+		return null;
+	}
+
+	/**
+	 * @return <code>true</code> if the bean class or one of its superclasses
+	 *         has members annotated with one of the
+	 *         {@link #VIEW_SUPPORT_ANNOTATIONS}, or directly injects a bean using
+	 *         views. A bean generated in an earlier round or compilation uses
+	 *         views if it listens to the view changes, whatever annotations it
+	 *         uses.
+	 */
+	private boolean usesViews(TypeMirror beanType, Set<TypeElement> visitedTypes) {
+		Types typeUtils = getProcessingEnvironment().getTypeUtils();
+		TypeMirror type = beanType;
+		while (type.getKind() == TypeKind.DECLARED) {
+			TypeElement typeElement = (TypeElement) typeUtils.asElement(type);
+			if (!visitedTypes.add(typeElement)) {
+				return false;
+			}
+			if (generatedClassListensToViewChanges(typeElement)) {
+				return true;
+			}
+			for (Element enclosedElement : typeElement.getEnclosedElements()) {
+				if (hasViewSupportAnnotation(enclosedElement) || injectsBeanUsingViews(enclosedElement, visitedTypes)) {
+					return true;
+				}
+				if (enclosedElement instanceof ExecutableElement) {
+					for (Element parameter : ((ExecutableElement) enclosedElement).getParameters()) {
+						if (hasViewSupportAnnotation(parameter) || injectsBeanUsingViews(parameter, visitedTypes)) {
+							return true;
+						}
+					}
+				}
+			}
+			type = typeElement.getSuperclass();
+		}
+		return false;
+	}
+
+	private boolean generatedClassListensToViewChanges(TypeElement typeElement) {
+		// the beans of this round are not generated yet
+		if (typeElement.getAnnotation(EBean.class) == null || getEnvironment().getExtractedElements().getRootAnnotatedElements(EBean.class.getName()).contains(typeElement)) {
+			return false;
+		}
+		String generatedClassName = annotationHelper.generatedClassQualifiedNameFromQualifiedName(typeElement.getQualifiedName().toString());
+		TypeElement generatedClass = annotationHelper.typeElementFromQualifiedName(generatedClassName);
+		return generatedClass != null && annotationHelper.isSubtype(generatedClass, annotationHelper.typeElementFromQualifiedName(OnViewChangedListener.class.getName()));
+	}
+
+	/**
+	 * The beans injected with a {@link Lazy} or a {@link Provider} are created
+	 * later, and their injection is validated on its own.
+	 */
+	private boolean injectsBeanUsingViews(Element element, Set<TypeElement> visitedTypes) {
+		if (element.getAnnotation(Bean.class) == null) {
+			return false;
+		}
+		Element injectedElement = getInjectedElement(element);
+		if (getDeferredBeanType(injectedElement) != null) {
+			return false;
+		}
+		TypeMirror injectedBeanType = annotationHelper.extractAnnotationClassParameter(element);
+		if (injectedBeanType == null) {
+			injectedBeanType = injectedElement.asType();
+		}
+		return usesViews(injectedBeanType, visitedTypes);
+	}
+
+	private boolean hasViewSupportAnnotation(Element element) {
+		for (Class<? extends Annotation> annotation : VIEW_SUPPORT_ANNOTATIONS) {
+			if (element.getAnnotation(annotation) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public void process(Element element, EComponentHolder holder) {
 		injectHelper.process(element, holder);
@@ -74,21 +254,31 @@ public class BeanHandler extends BaseAnnotationHandler<EComponentHolder> impleme
 
 	@Override
 	public void assignValue(JBlock targetBlock, IJAssignmentTarget fieldRef, EComponentHolder holder, Element element, Element param) {
+		DeclaredType deferredBeanType = getDeferredBeanType(param);
+
 		TypeMirror typeMirror = annotationHelper.extractAnnotationClassParameter(element);
 		if (typeMirror == null) {
-			typeMirror = param.asType();
+			typeMirror = deferredBeanType != null ? deferredBeanType.getTypeArguments().get(0) : param.asType();
 			typeMirror = getProcessingEnvironment().getTypeUtils().erasure(typeMirror);
 		}
 		String typeQualifiedName = typeMirror.toString();
 		AbstractJClass injectedClass = getJClass(annotationHelper.generatedClassQualifiedNameFromQualifiedName(typeQualifiedName));
-		JInvocation beanInstance = injectedClass.staticInvoke(EBeanHolder.GET_INSTANCE_METHOD_NAME).arg(holder.getContextRef());
 
 		TypeElement declaredEBean = getProcessingEnvironment().getElementUtils().getTypeElement(typeQualifiedName);
+		boolean needsRootFragment = false;
 		if (declaredEBean != null) {
 			EBean annotation = declaredEBean.getAnnotation(EBean.class);
-			if (annotation.scope() != EBean.Scope.Singleton && annotation.scope() != EBean.Scope.Activity) {
-				beanInstance.arg(holder.getRootFragmentRef());
-			}
+			needsRootFragment = annotation.scope() != EBean.Scope.Singleton && annotation.scope() != EBean.Scope.Activity;
+		}
+
+		if (deferredBeanType != null) {
+			assignDeferredBean(targetBlock.block(), fieldRef, holder, deferredBeanType, injectedClass, needsRootFragment);
+			return;
+		}
+
+		JInvocation beanInstance = injectedClass.staticInvoke(EBeanHolder.GET_INSTANCE_METHOD_NAME).arg(holder.getContextRef());
+		if (needsRootFragment) {
+			beanInstance.arg(holder.getRootFragmentRef());
 		}
 
 		IJStatement assignment = fieldRef.assign(beanInstance);
@@ -104,6 +294,39 @@ public class BeanHandler extends BaseAnnotationHandler<EComponentHolder> impleme
 		targetBlock.add(assignment);
 	}
 
+	/**
+	 * Assigns a {@link Lazy} or a {@link Provider} calling the factory method of
+	 * the bean. The context and root fragment are read when the component is
+	 * initialized, like for the directly injected beans, since the references
+	 * of some components are <code>this</code>.
+	 */
+	private void assignDeferredBean(JBlock block, IJAssignmentTarget fieldRef, EComponentHolder holder, DeclaredType deferredBeanType, AbstractJClass injectedClass, boolean needsRootFragment) {
+		JVar contextVar = block.decl(FINAL, getClasses().CONTEXT, "context" + generationSuffix(), holder.getContextRef());
+		JInvocation beanInstance = injectedClass.staticInvoke(EBeanHolder.GET_INSTANCE_METHOD_NAME).arg(contextVar);
+		if (needsRootFragment) {
+			JVar rootFragmentVar = block.decl(FINAL, getClasses().OBJECT, "rootFragment" + generationSuffix(), holder.getRootFragmentRef());
+			beanInstance.arg(rootFragmentVar);
+		}
+
+		boolean isLazy = Lazy.class.getCanonicalName().equals(getProcessingEnvironment().getTypeUtils().erasure(deferredBeanType).toString());
+		AbstractJClass beanType = codeModelHelper.typeMirrorToJClass(deferredBeanType.getTypeArguments().get(0));
+
+		JDefinedClass deferredBeanClass;
+		JMethod factoryMethod;
+		if (isLazy) {
+			deferredBeanClass = getCodeModel().anonymousClass(getJClass(AbstractLazy.class).narrow(beanType));
+			factoryMethod = deferredBeanClass.method(PROTECTED, beanType, "create");
+		} else {
+			deferredBeanClass = getCodeModel().anonymousClass(getJClass(Provider.class).narrow(beanType));
+			factoryMethod = deferredBeanClass.method(PUBLIC, beanType, "get");
+		}
+		factoryMethod.annotate(Override.class);
+
+		factoryMethod.body()._return(beanInstance);
+
+		block.add(fieldRef.assign(_new(deferredBeanClass)));
+	}
+
 	@Override
 	public void validateEnclosingElement(Element element, ElementValidation valid) {
 		validatorHelper.enclosingElementHasEnhancedComponentAnnotation(element, valid);
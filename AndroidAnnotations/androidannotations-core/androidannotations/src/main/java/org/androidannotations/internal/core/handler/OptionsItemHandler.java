@@ -56,13 +56,13 @@ public class OptionsItemHandler extends BaseAnnotationHandler<HasOptionsMenu> {
 
 		validatorHelper.doesntThrowException(element, validation);
 
-		validatorHelper.uniqueId(element, validation);
-
 		ExecutableElement executableElement = (ExecutableElement) element;
 
 		validatorHelper.returnTypeIsVoidOrBoolean(executableElement, validation);
 
 		validatorHelper.param.type(CanonicalNameConstants.MENU_ITEM).optional().validate(executableElement, validation);
+
+		validatorHelper.uniqueId(element, validation);
 	}
 
 	@Override
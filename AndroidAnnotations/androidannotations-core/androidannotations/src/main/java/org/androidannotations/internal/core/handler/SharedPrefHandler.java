@@ -119,6 +119,10 @@ public class SharedPrefHandler extends CoreBaseGeneratingAnnotationHandler<Share
 
 		validatorHelper.isInterface(typeElement, validation);
 
+		if (typeElement.getAnnotation(SharedPref.class).writeBehindMillis() < 0) {
+			validation.addError("The writeBehindMillis value of %s cannot be negative");
+		}
+
 		List<? extends Element> inheritedMembers = getProcessingEnvironment().getElementUtils().getAllMembers(typeElement);
 
 		for (Element memberElement : inheritedMembers) {
@@ -167,6 +171,7 @@ public class SharedPrefHandler extends CoreBaseGeneratingAnnotationHandler<Share
 		SharedPref.Scope scope = sharedPrefAnnotation.value();
 		String name = sharedPrefAnnotation.name();
 		int mode = sharedPrefAnnotation.mode();
+		long writeBehindMillis = sharedPrefAnnotation.writeBehindMillis();
 
 		if (name.trim().isEmpty()) {
 			name = element.getSimpleName().toString();
@@ -207,6 +212,14 @@ public class SharedPrefHandler extends CoreBaseGeneratingAnnotationHandler<Share
 			break;
 		}
 		}
+
+		if (writeBehindMillis > 0) {
+			holder.getConstructor().body().invoke("setWriteBehindWindow").arg(lit(writeBehindMillis));
+		}
+
+		if (sharedPrefAnnotation.cached()) {
+			holder.getConstructor().body().invoke("enableFieldCache");
+		}
 	}
 
 	private JMethod getLocalClassName(SharedPrefHolder holder) {
@@ -42,6 +42,7 @@ public class UiThreadHandler extends AbstractRunnableHandler {
 	private static final String METHOD_MAIN_LOOPER = "getMainLooper";
 	private static final String METHOD_GET_THREAD = "getThread";
 	private static final String METHOD_RUN_TASK = "runTask";
+	private static final String METHOD_RUN_DEBOUNCED_TASK = "runDebouncedTask";
 
 	public UiThreadHandler(AndroidAnnotationsEnvironment environment) {
 		super(UiThread.class, environment);
@@ -53,6 +54,8 @@ public class UiThreadHandler extends AbstractRunnableHandler {
 
 		coreValidatorHelper.usesEnqueueIfHasId(element, valid);
 
+		coreValidatorHelper.uiThreadHasIdIfDebounced(element, valid);
+
 		UiThread annotation = element.getAnnotation(UiThread.class);
 		long delay = annotation.delay();
 		UiThread.Propagation propagation = annotation.propagation();
@@ -71,6 +74,15 @@ public class UiThreadHandler extends AbstractRunnableHandler {
 		UiThread annotation = element.getAnnotation(UiThread.class);
 		long delay = annotation.delay();
 		UiThread.Propagation propagation = annotation.propagation();
+		long debounce = annotation.debounce();
+
+		if (debounce > 0) {
+			delegatingMethod.body().add(getJClass(UiThreadExecutor.class).staticInvoke(METHOD_RUN_DEBOUNCED_TASK) //
+					.arg(lit(annotation.id())) //
+					.arg(_new(anonymousRunnableClass)) //
+					.arg(lit(debounce)));
+			return;
+		}
 
 		if (delay == 0 && propagation == UiThread.Propagation.REUSE) {
 			// Put in the check for the UI thread.
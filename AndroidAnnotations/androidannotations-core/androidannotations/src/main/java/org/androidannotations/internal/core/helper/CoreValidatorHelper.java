@@ -41,6 +41,7 @@ import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 
 import org.androidannotations.ElementValidation;
+import org.androidannotations.annotations.Background;
 import org.androidannotations.annotations.DataBound;
 import org.androidannotations.annotations.EActivity;
 import org.androidannotations.annotations.EFragment;
@@ -413,6 +414,44 @@ public class CoreValidatorHelper extends IdValidatorHelper {
 		}
 	}
 
+	public void hasIdOrSerialIfBounded(Element element, ElementValidation valid) {
+		Background annotation = element.getAnnotation(Background.class);
+
+		if (annotation.maxPending() < 0) {
+			valid.addError("maxPending must be positive, or 0 for no limit");
+		} else if (annotation.maxPending() > 0 && "".equals(annotation.id()) && "".equals(annotation.serial())) {
+			valid.addError("maxPending can only be used with an id or a serial");
+		}
+	}
+
+	public void backgroundHasIdIfDebounced(Element element, ElementValidation valid) {
+		Background annotation = element.getAnnotation(Background.class);
+
+		hasIdIfDebounced(annotation.id(), annotation.debounce(), annotation.delay(), valid);
+		if (annotation.debounce() > 0 && annotation.maxPending() != 0) {
+			valid.addError("debounce cannot be used with maxPending");
+		}
+	}
+
+	public void uiThreadHasIdIfDebounced(Element element, ElementValidation valid) {
+		UiThread annotation = element.getAnnotation(UiThread.class);
+
+		hasIdIfDebounced(annotation.id(), annotation.debounce(), annotation.delay(), valid);
+	}
+
+	private void hasIdIfDebounced(String id, long debounce, long delay, ElementValidation valid) {
+		if (debounce < 0) {
+			valid.addError("debounce must be positive, or 0 for no debounce");
+		} else if (debounce > 0) {
+			if ("".equals(id)) {
+				valid.addError("debounce can only be used with an id");
+			}
+			if (delay != 0) {
+				valid.addError("debounce cannot be used with delay");
+			}
+		}
+	}
+
 	public void extendsKeyEventCallback(Element element, ElementValidation validation) {
 		extendsType(element, CanonicalNameConstants.KEY_EVENT_CALLBACK, validation);
 	}
@@ -63,14 +63,16 @@ public class SourceCodeWriter extends AbstractCodeWriter {
 
 		Element[] classOriginatingElements = originatingElements.getClassOriginatingElements(qualifiedClassName);
 
-		try {
-			JavaFileObject sourceFile;
-
-			if (classOriginatingElements.length == 0) {
-				LOGGER.info("Generating class with no originating element: {}", qualifiedClassName);
-			}
+		/*
+		 * Incremental builds only know which sources to regenerate through the
+		 * originating elements, so a generated class without any may go stale.
+		 */
+		if (classOriginatingElements.length == 0) {
+			LOGGER.warn("Generating class with no originating element: {}", qualifiedClassName);
+		}
 
-			sourceFile = filer.createSourceFile(qualifiedClassName, classOriginatingElements);
+		try {
+			JavaFileObject sourceFile = filer.createSourceFile(qualifiedClassName, classOriginatingElements);
 
 			return sourceFile.openOutputStream();
 		} catch (FilerException e) {
@@ -24,6 +24,7 @@ import static com.helger.jcodemodel.JMod.PUBLIC;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.api.view.HasRootView;
 import org.androidannotations.api.view.HasViews;
 import org.androidannotations.api.view.OnViewChangedNotifier;
 import org.androidannotations.holder.EComponentWithViewSupportHolder;
@@ -75,6 +76,17 @@ public class ViewNotifierHelper {
 		JVar idParam = findViewById.param(codeModel.INT, "id");
 		IJExpression findViewByIdExpression = holder.getFindViewByIdExpression(idParam);
 		findViewById.body()._return(JExpr.cast(genericType, findViewByIdExpression));
+
+		if (holder.isSinglePassViewBinding()) {
+			implementHasRootViewInHolder();
+		}
+	}
+
+	private void implementHasRootViewInHolder() {
+		holder.getGeneratedClass()._implements(HasRootView.class);
+		JMethod getRootView = holder.getGeneratedClass().method(PUBLIC, environment.getClasses().VIEW, "internalGetRootView");
+		getRootView.annotate(Override.class);
+		getRootView.body()._return(holder.getRootViewExpression());
 	}
 
 	public JVar replacePreviousNotifierWithNull(JBlock block) {
@@ -16,9 +16,11 @@
  */
 package org.androidannotations.internal.model;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.processing.RoundEnvironment;
@@ -32,6 +34,19 @@ import javax.lang.model.type.TypeMirror;
 
 public class ModelExtractor {
 
+	private static class AncestorAnnotation {
+		private final String annotationName;
+		private final Element annotatedElement;
+
+		AncestorAnnotation(String annotationName, Element annotatedElement) {
+			this.annotationName = annotationName;
+			this.annotatedElement = annotatedElement;
+		}
+	}
+
+	private final Map<TypeElement, List<TypeElement>> ancestorsCache = new HashMap<>();
+	private final Map<TypeElement, List<AncestorAnnotation>> ancestorAnnotationsCache = new HashMap<>();
+
 	/**
 	 * Extracts annotated elements on elements given to the annotation processor as
 	 * well as annotations in their superclasses
@@ -73,25 +88,45 @@ public class ModelExtractor {
 
 	private void extractAncestorsAnnotations(AnnotationElementsHolder extractedModel, Set<String> annotationTypesToCheck, Set<TypeElement> rootTypeElements) {
 		for (TypeElement rootTypeElement : rootTypeElements) {
-			Set<TypeElement> ancestors = new LinkedHashSet<>();
-			addAncestorsElements(ancestors, rootTypeElement);
-			if (!ancestors.isEmpty()) {
-
-				for (TypeElement ancestor : ancestors) {
-					extractAnnotations(extractedModel, annotationTypesToCheck, rootTypeElement, ancestor);
-
-					for (Element ancestorEnclosedElement : ancestor.getEnclosedElements()) {
-						ElementKind enclosedKind = ancestorEnclosedElement.getKind();
-						if (enclosedKind == ElementKind.FIELD || enclosedKind == ElementKind.METHOD) {
-							extractAnnotations(extractedModel, annotationTypesToCheck, rootTypeElement, ancestorEnclosedElement);
-						}
-					}
+			for (TypeElement ancestor : findAncestors(rootTypeElement)) {
+				for (AncestorAnnotation ancestorAnnotation : findAncestorAnnotations(annotationTypesToCheck, ancestor)) {
+
+					/*
+					 * rootTypeElement is one of the types that are being compiled
+					 *
+					 * ancestorAnnotation.annotatedElement is the annotated element in an ancestor
+					 * of rootTypeElement
+					 */
+
+					extractedModel.putAncestorAnnotatedElement(ancestorAnnotation.annotationName, ancestorAnnotation.annotatedElement, rootTypeElement);
 				}
 			}
 		}
 	}
 
-	private void extractAnnotations(AnnotationElementsHolder extractedModel, Set<String> annotationTypesToCheck, TypeElement rootTypeElement, Element ancestorEnclosedElement) {
+	/**
+	 * Returns the annotations to check found on the ancestor and its fields and
+	 * methods. The result is cached, because the same ancestors are usually shared
+	 * by many root types.
+	 */
+	private List<AncestorAnnotation> findAncestorAnnotations(Set<String> annotationTypesToCheck, TypeElement ancestor) {
+		List<AncestorAnnotation> ancestorAnnotations = ancestorAnnotationsCache.get(ancestor);
+		if (ancestorAnnotations == null) {
+			ancestorAnnotations = new ArrayList<>();
+			extractAnnotations(ancestorAnnotations, annotationTypesToCheck, ancestor);
+
+			for (Element ancestorEnclosedElement : ancestor.getEnclosedElements()) {
+				ElementKind enclosedKind = ancestorEnclosedElement.getKind();
+				if (enclosedKind == ElementKind.FIELD || enclosedKind == ElementKind.METHOD) {
+					extractAnnotations(ancestorAnnotations, annotationTypesToCheck, ancestorEnclosedElement);
+				}
+			}
+			ancestorAnnotationsCache.put(ancestor, ancestorAnnotations);
+		}
+		return ancestorAnnotations;
+	}
+
+	private void extractAnnotations(List<AncestorAnnotation> ancestorAnnotations, Set<String> annotationTypesToCheck, Element ancestorEnclosedElement) {
 		List<? extends AnnotationMirror> ancestorEnclosedElementAnnotations = ancestorEnclosedElement.getAnnotationMirrors();
 		for (AnnotationMirror annotationMirror : ancestorEnclosedElementAnnotations) {
 			DeclaredType annotationType = annotationMirror.getAnnotationType();
@@ -99,33 +134,36 @@ public class ModelExtractor {
 				TypeElement annotation = (TypeElement) annotationType.asElement();
 
 				/*
-				 * rootTypeElement is one of the types that are being compiled
-				 *
-				 * ancestorEnclosedElement is the annotated element in an ancestor of
-				 * rootTypeElement
-				 *
 				 * annotation is a type representing the annotation on ancestorEnclosedElement
 				 */
 
-				extractedModel.putAncestorAnnotatedElement(annotation.getQualifiedName().toString(), ancestorEnclosedElement, rootTypeElement);
+				ancestorAnnotations.add(new AncestorAnnotation(annotation.getQualifiedName().toString(), ancestorEnclosedElement));
 			}
 		}
 	}
 
 	/**
-	 * Finds superclasses until reaching the Object class
+	 * Finds superclasses until reaching the Object class, the farthest one first.
+	 * The result is cached, so a hierarchy shared by several root types is only
+	 * walked once.
 	 */
-	private void addAncestorsElements(Set<TypeElement> elements, TypeElement typeElement) {
-		TypeMirror ancestorTypeMirror = typeElement.getSuperclass();
-
-		if (!isRootObjectClass(ancestorTypeMirror) && !isAndroidClass(ancestorTypeMirror) && ancestorTypeMirror instanceof DeclaredType) {
-			DeclaredType ancestorDeclaredType = (DeclaredType) ancestorTypeMirror;
-			Element ancestorElement = ancestorDeclaredType.asElement();
-			if (ancestorElement instanceof TypeElement) {
-				addAncestorsElements(elements, (TypeElement) ancestorElement);
-				elements.add((TypeElement) ancestorElement);
+	private List<TypeElement> findAncestors(TypeElement typeElement) {
+		List<TypeElement> ancestors = ancestorsCache.get(typeElement);
+		if (ancestors == null) {
+			ancestors = new ArrayList<>();
+			TypeMirror ancestorTypeMirror = typeElement.getSuperclass();
+
+			if (!isRootObjectClass(ancestorTypeMirror) && !isAndroidClass(ancestorTypeMirror) && ancestorTypeMirror instanceof DeclaredType) {
+				DeclaredType ancestorDeclaredType = (DeclaredType) ancestorTypeMirror;
+				Element ancestorElement = ancestorDeclaredType.asElement();
+				if (ancestorElement instanceof TypeElement) {
+					ancestors.addAll(findAncestors((TypeElement) ancestorElement));
+					ancestors.add((TypeElement) ancestorElement);
+				}
 			}
+			ancestorsCache.put(typeElement, ancestors);
 		}
+		return ancestors;
 	}
 
 	private boolean isRootObjectClass(TypeMirror typeMirror) {
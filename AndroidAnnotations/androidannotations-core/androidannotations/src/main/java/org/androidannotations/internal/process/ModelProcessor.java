@@ -55,9 +55,11 @@ public class ModelProcessor {
 	}
 
 	private final InternalAndroidAnnotationsEnvironment environment;
+	private final TimeStats timeStats;
 
-	public ModelProcessor(InternalAndroidAnnotationsEnvironment environment) {
+	public ModelProcessor(InternalAndroidAnnotationsEnvironment environment, TimeStats timeStats) {
 		this.environment = environment;
+		this.timeStats = timeStats;
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -151,11 +153,13 @@ public class ModelProcessor {
 	}
 
 	private <T extends GeneratedClassHolder> void processThrowing(AnnotationHandler<T> handler, Element element, T generatedClassHolder) throws ProcessingException {
+		long start = System.nanoTime();
 		try {
 			handler.process(element, generatedClassHolder);
 		} catch (Exception e) {
 			throw new ProcessingException(e, element);
 		}
+		timeStats.addElementDuration(TimeStats.PHASE_PROCESS, handler.getClass().getSimpleName(), element, System.nanoTime() - start);
 	}
 
 	private boolean isAbstractClass(Element annotatedElement) {
@@ -200,9 +204,11 @@ public class ModelProcessor {
 								LOGGER.error(annotatedElement, "Enclosing element {} has not been successfully validated", enclosingElement);
 							}
 						} else {
+							long start = System.nanoTime();
 							GeneratedClassHolder generatedClassHolder = generatingAnnotationHandler.createGeneratedClassHolder(environment, typeElement);
 							processHolder.put(annotatedElement, generatedClassHolder);
 							generatingAnnotationHandler.process(annotatedElement, generatedClassHolder);
+							timeStats.addElementDuration(TimeStats.PHASE_PROCESS, generatingAnnotationHandler.getClass().getSimpleName(), annotatedElement, System.nanoTime() - start);
 						}
 					}
 				} else {
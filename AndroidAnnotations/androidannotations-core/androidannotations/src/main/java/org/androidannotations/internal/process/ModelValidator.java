@@ -34,9 +34,11 @@ public class ModelValidator {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ModelValidator.class);
 	private AndroidAnnotationsEnvironment environment;
+	private TimeStats timeStats;
 
-	public ModelValidator(AndroidAnnotationsEnvironment environment) {
+	public ModelValidator(AndroidAnnotationsEnvironment environment, TimeStats timeStats) {
 		this.environment = environment;
+		this.timeStats = timeStats;
 	}
 
 	public AnnotationElements validate(AnnotationElements extractedModel, AnnotationElementsHolder validatingHolder) {
@@ -67,7 +69,9 @@ public class ModelValidator {
 			}
 
 			for (Element annotatedElement : annotatedElements) {
+				long start = System.nanoTime();
 				ElementValidation elementValidation = annotationHandler.validate(annotatedElement);
+				timeStats.addElementDuration(TimeStats.PHASE_VALIDATE, validatorSimpleName, annotatedElement, System.nanoTime() - start);
 
 				AnnotationMirror annotationMirror = elementValidation.getAnnotationMirror();
 				for (ElementValidation.Error error : elementValidation.getErrors()) {
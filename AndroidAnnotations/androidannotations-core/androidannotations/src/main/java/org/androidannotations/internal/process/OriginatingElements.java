@@ -32,7 +32,9 @@ public class OriginatingElements {
 			originatingElements = new ArrayList<>();
 			originatingElementsByClassName.put(qualifiedName, originatingElements);
 		}
-		originatingElements.add(element);
+		if (!originatingElements.contains(element)) {
+			originatingElements.add(element);
+		}
 	}
 
 	public Element[] getClassOriginatingElements(String className) {
@@ -42,6 +42,10 @@ public class ProcessHolder {
 		generatedClassHolders.put(element, generatedClassHolder);
 	}
 
+	public void addOriginatingElement(String qualifiedName, Element element) {
+		originatingElements.add(qualifiedName, element);
+	}
+
 	public GeneratedClassHolder getGeneratedClassHolder(Element element) {
 		for (Element key : generatedClassHolders.keySet()) {
 			if (key.asType().toString().equals(element.asType().toString())) {
@@ -16,49 +16,179 @@
  */
 package org.androidannotations.internal.process;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+import org.androidannotations.Option;
+import org.androidannotations.logger.Level;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
 
 public class TimeStats {
 
+	/**
+	 * Path of the profiling report written at the end of the processing. The
+	 * report is written as CSV if the path ends with <code>.csv</code>, as JSON
+	 * otherwise. <code>{outputFolder}</code> is replaced by the output folder of
+	 * the project.
+	 */
+	public static final Option OPTION_PROFILING_REPORT = new Option("profilingReport", null);
+
+	public static final String PHASE_VALIDATE = "validate";
+	public static final String PHASE_PROCESS = "process";
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(TimeStats.class);
 
+	private static final long NANOS_PER_MILLI = 1000000L;
+
 	private final Map<String, Long> measures = new HashMap<>();
 	private final List<Duration> durations = new ArrayList<>();
 
+	/*
+	 * The following measures are kept for the whole compilation, to be written in
+	 * the profiling report.
+	 */
+	private final Map<String, Long> phaseDurations = new LinkedHashMap<>();
+	private final Map<String, HandlerStats> handlerStats = new LinkedHashMap<>();
+	private final List<ElementDuration> elementDurations = new ArrayList<>();
+	private int generatedArtifacts;
+	private boolean profiling;
+
 	private static class Duration implements Comparable<Duration> {
 		public final String key;
-		public final long durationInMs;
+		public final long durationInNanos;
 
-		Duration(String key, long durationInMs) {
+		Duration(String key, long durationInNanos) {
 			this.key = key;
-			this.durationInMs = durationInMs;
+			this.durationInNanos = durationInNanos;
 		}
 
 		@Override
 		public int compareTo(Duration o) {
-			return (int) (o.durationInMs - durationInMs);
+			return Long.compare(o.durationInNanos, durationInNanos);
+		}
+	}
+
+	private static class HandlerStats implements Comparable<HandlerStats> {
+		public final String handler;
+		public int validatedElements;
+		public long validateDurationInNanos;
+		public int processedElements;
+		public long processDurationInNanos;
+
+		HandlerStats(String handler) {
+			this.handler = handler;
+		}
+
+		long totalDurationInNanos() {
+			return validateDurationInNanos + processDurationInNanos;
+		}
+
+		@Override
+		public int compareTo(HandlerStats o) {
+			return Long.compare(o.totalDurationInNanos(), totalDurationInNanos());
+		}
+	}
+
+	private static class ElementDuration {
+		public final String phase;
+		public final String handler;
+		public final String element;
+		public final long durationInNanos;
+
+		ElementDuration(String phase, String handler, String element, long durationInNanos) {
+			this.phase = phase;
+			this.handler = handler;
+			this.element = element;
+			this.durationInNanos = durationInNanos;
 		}
 	}
 
+	/**
+	 * Enables the measures per handler and per element, which are only recorded
+	 * for the profiling report.
+	 *
+	 * @param profiling
+	 *            whether a profiling report is written
+	 */
+	public void setProfiling(boolean profiling) {
+		this.profiling = profiling;
+	}
+
 	public void start(String key) {
-		long start = System.currentTimeMillis();
+		long start = System.nanoTime();
 		measures.put(key, start);
 	}
 
 	public void stop(String key) {
 		Long start = measures.remove(key);
 		if (start != null) {
-			long end = System.currentTimeMillis();
+			long end = System.nanoTime();
 			long duration = end - start;
 			durations.add(new Duration(key, duration));
+
+			Long phaseDuration = phaseDurations.get(key);
+			phaseDurations.put(key, phaseDuration != null ? phaseDuration + duration : duration);
+		}
+	}
+
+	/**
+	 * Records the time spent by a handler to validate or process a single element.
+	 * Does nothing unless profiling is enabled.
+	 *
+	 * @param phase
+	 *            {@link #PHASE_VALIDATE} or {@link #PHASE_PROCESS}
+	 * @param handler
+	 *            the name of the handler
+	 * @param element
+	 *            the validated or processed element
+	 * @param durationInNanos
+	 *            the time spent on this element
+	 */
+	public void addElementDuration(String phase, String handler, Element element, long durationInNanos) {
+		if (!profiling) {
+			return;
+		}
+
+		HandlerStats stats = handlerStats.get(handler);
+		if (stats == null) {
+			stats = new HandlerStats(handler);
+			handlerStats.put(handler, stats);
+		}
+
+		if (PHASE_VALIDATE.equals(phase)) {
+			stats.validatedElements++;
+			stats.validateDurationInNanos += durationInNanos;
+		} else {
+			stats.processedElements++;
+			stats.processDurationInNanos += durationInNanos;
 		}
+
+		elementDurations.add(new ElementDuration(phase, handler, describe(element), durationInNanos));
+	}
+
+	public void addGeneratedArtifacts(int count) {
+		generatedArtifacts += count;
+	}
+
+	private String describe(Element element) {
+		if (element instanceof TypeElement) {
+			return ((TypeElement) element).getQualifiedName().toString();
+		}
+		return element.getEnclosingElement() + "." + element;
 	}
 
 	@Override
@@ -71,15 +201,38 @@ public class TimeStats {
 			sb.append("[") //
 					.append(duration.key) //
 					.append(" = ") //
-					.append(duration.durationInMs) //
+					.append(duration.durationInNanos / NANOS_PER_MILLI) //
 					.append(" ms], ");
 		}
 
 		return sb.toString();
 	}
 
+	private String handlerStatsToString() {
+		List<HandlerStats> sortedStats = new ArrayList<>(handlerStats.values());
+		Collections.sort(sortedStats);
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("Handler time measurements: ");
+		for (HandlerStats stats : sortedStats) {
+			sb.append("[") //
+					.append(stats.handler) //
+					.append(" = ") //
+					.append(stats.totalDurationInNanos() / NANOS_PER_MILLI) //
+					.append(" ms, ") //
+					.append(stats.validatedElements) //
+					.append(" validated, ") //
+					.append(stats.processedElements) //
+					.append(" processed], ");
+		}
+		return sb.toString();
+	}
+
 	public void logStats() {
-		LOGGER.info(toString());
+		LOGGER.info("{}", this);
+		if (profiling && LOGGER.isLoggable(Level.DEBUG)) {
+			LOGGER.debug(handlerStatsToString());
+		}
 	}
 
 	public void clear() {
@@ -87,4 +240,95 @@ public class TimeStats {
 		durations.clear();
 	}
 
+	public void writeReport(File file) throws IOException {
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+			if (file.getName().endsWith(".csv")) {
+				writeCsvReport(writer);
+			} else {
+				writeJsonReport(writer);
+			}
+		}
+	}
+
+	private void writeCsvReport(Writer writer) throws IOException {
+		writer.write("type,name,phase,element,count,durationInNanos\n");
+
+		for (Map.Entry<String, Long> phaseDuration : phaseDurations.entrySet()) {
+			writeCsvLine(writer, "phase", phaseDuration.getKey(), "", "", 1, phaseDuration.getValue());
+		}
+
+		for (HandlerStats stats : handlerStats.values()) {
+			writeCsvLine(writer, "handler", stats.handler, PHASE_VALIDATE, "", stats.validatedElements, stats.validateDurationInNanos);
+			writeCsvLine(writer, "handler", stats.handler, PHASE_PROCESS, "", stats.processedElements, stats.processDurationInNanos);
+		}
+
+		for (ElementDuration elementDuration : elementDurations) {
+			writeCsvLine(writer, "element", elementDuration.handler, elementDuration.phase, elementDuration.element, 1, elementDuration.durationInNanos);
+		}
+
+		writeCsvLine(writer, "artifacts", "generated", "", "", generatedArtifacts, 0);
+	}
+
+	private void writeCsvLine(Writer writer, String type, String name, String phase, String element, int count, long durationInNanos) throws IOException {
+		writer.write(type + "," + escapeCsv(name) + "," + phase + "," + escapeCsv(element) + "," + count + "," + durationInNanos + "\n");
+	}
+
+	private String escapeCsv(String value) {
+		if (value.indexOf(',') == -1 && value.indexOf('"') == -1) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	private void writeJsonReport(Writer writer) throws IOException {
+		writer.write("{\n  \"generatedArtifacts\": " + generatedArtifacts + ",\n");
+
+		writer.write("  \"phases\": [");
+		String separator = "\n";
+		for (Map.Entry<String, Long> phaseDuration : phaseDurations.entrySet()) {
+			writer.write(separator + "    {\"name\": " + quoteJson(phaseDuration.getKey()) + ", \"durationInNanos\": " + phaseDuration.getValue() + "}");
+			separator = ",\n";
+		}
+		writer.write("\n  ],\n");
+
+		writer.write("  \"handlers\": [");
+		separator = "\n";
+		for (HandlerStats stats : handlerStats.values()) {
+			writer.write(separator + "    {\"name\": " + quoteJson(stats.handler) //
+					+ ", \"validatedElements\": " + stats.validatedElements //
+					+ ", \"validateDurationInNanos\": " + stats.validateDurationInNanos //
+					+ ", \"processedElements\": " + stats.processedElements //
+					+ ", \"processDurationInNanos\": " + stats.processDurationInNanos + "}");
+			separator = ",\n";
+		}
+		writer.write("\n  ],\n");
+
+		writer.write("  \"elements\": [");
+		separator = "\n";
+		for (ElementDuration elementDuration : elementDurations) {
+			writer.write(separator + "    {\"handler\": " + quoteJson(elementDuration.handler) //
+					+ ", \"phase\": " + quoteJson(elementDuration.phase) //
+					+ ", \"element\": " + quoteJson(elementDuration.element) //
+					+ ", \"durationInNanos\": " + elementDuration.durationInNanos + "}");
+			separator = ",\n";
+		}
+		writer.write("\n  ]\n}\n");
+	}
+
+	private String quoteJson(String value) {
+		StringBuilder sb = new StringBuilder(value.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < ' ') {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
 }
@@ -29,14 +29,93 @@ public class Logger {
 		this.name = name;
 	}
 
+	/*
+	 * The fixed arity methods only allocate the arguments array when the level
+	 * is enabled. The arguments are formatted with toString() at the same time,
+	 * so an argument that is costly to format can defer the work to its
+	 * toString() method.
+	 */
+
+	public void trace(String message) {
+		if (isLoggable(Level.TRACE)) {
+			loggerContext.writeLog(Level.TRACE, this.name, message, null, null, null);
+		}
+	}
+
+	public void trace(String message, Object arg) {
+		if (isLoggable(Level.TRACE)) {
+			loggerContext.writeLog(Level.TRACE, this.name, message, null, null, null, arg);
+		}
+	}
+
+	public void trace(String message, Object arg1, Object arg2) {
+		if (isLoggable(Level.TRACE)) {
+			loggerContext.writeLog(Level.TRACE, this.name, message, null, null, null, arg1, arg2);
+		}
+	}
+
+	public void trace(String message, Object arg1, Object arg2, Object arg3) {
+		if (isLoggable(Level.TRACE)) {
+			loggerContext.writeLog(Level.TRACE, this.name, message, null, null, null, arg1, arg2, arg3);
+		}
+	}
+
 	public void trace(String message, Object... args) {
 		log(Level.TRACE, message, null, null, null, args);
 	}
 
+	public void debug(String message) {
+		if (isLoggable(Level.DEBUG)) {
+			loggerContext.writeLog(Level.DEBUG, this.name, message, null, null, null);
+		}
+	}
+
+	public void debug(String message, Object arg) {
+		if (isLoggable(Level.DEBUG)) {
+			loggerContext.writeLog(Level.DEBUG, this.name, message, null, null, null, arg);
+		}
+	}
+
+	public void debug(String message, Object arg1, Object arg2) {
+		if (isLoggable(Level.DEBUG)) {
+			loggerContext.writeLog(Level.DEBUG, this.name, message, null, null, null, arg1, arg2);
+		}
+	}
+
+	public void debug(String message, Object arg1, Object arg2, Object arg3) {
+		if (isLoggable(Level.DEBUG)) {
+			loggerContext.writeLog(Level.DEBUG, this.name, message, null, null, null, arg1, arg2, arg3);
+		}
+	}
+
 	public void debug(String message, Object... args) {
 		log(Level.DEBUG, message, null, null, null, args);
 	}
 
+	public void info(String message) {
+		if (isLoggable(Level.INFO)) {
+			loggerContext.writeLog(Level.INFO, this.name, message, null, null, null);
+		}
+	}
+
+	public void info(String message, Object arg) {
+		if (isLoggable(Level.INFO)) {
+			loggerContext.writeLog(Level.INFO, this.name, message, null, null, null, arg);
+		}
+	}
+
+	public void info(String message, Object arg1, Object arg2) {
+		if (isLoggable(Level.INFO)) {
+			loggerContext.writeLog(Level.INFO, this.name, message, null, null, null, arg1, arg2);
+		}
+	}
+
+	public void info(String message, Object arg1, Object arg2, Object arg3) {
+		if (isLoggable(Level.INFO)) {
+			loggerContext.writeLog(Level.INFO, this.name, message, null, null, null, arg1, arg2, arg3);
+		}
+	}
+
 	public void info(String message, Object... args) {
 		log(Level.INFO, message, null, null, null, args);
 	}
@@ -57,10 +57,19 @@ public final class LoggerContext {
 		return instance;
 	}
 
+	/**
+	 * Consecutive appenders using the same kind of formatter share the formatted
+	 * log, since it would be identical.
+	 */
 	public void writeLog(Level level, String loggerName, String message, Element element, AnnotationMirror annotationMirror, Throwable thr, Object... args) {
+		Class<?> lastFormatterClass = null;
+		String log = null;
 		for (Appender appender : appenders) {
 			Formatter formatter = appender.getFormatter();
-			String log = formatter.buildLog(level, loggerName, message, thr, args);
+			if (formatter.getClass() != lastFormatterClass) {
+				log = formatter.buildLog(level, loggerName, message, thr, args);
+				lastFormatterClass = formatter.getClass();
+			}
 			appender.append(level, element, annotationMirror, log);
 		}
 	}
@@ -74,6 +83,8 @@ public final class LoggerContext {
 	}
 
 	public void setEnvironment(AndroidAnnotationsEnvironment environment) {
+		// the previous appenders may still hold a file and its writer thread
+		close(true);
 		appenders.clear();
 		resolveLogLevel(environment);
 		addConsoleAppender(environment);
@@ -20,6 +20,13 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.annotation.processing.Messager;
 import javax.lang.model.element.AnnotationMirror;
@@ -33,14 +40,37 @@ import org.androidannotations.logger.Level;
 import org.androidannotations.logger.LoggerContext;
 import org.androidannotations.logger.formatter.FormatterFull;
 
+/**
+ * Appends the logs to a file. The messages are queued in a bounded buffer and
+ * written by batches from a background thread, so logging does not wait for
+ * the disk. The pending messages are written at the end of each round, and the
+ * file is closed after the last round.
+ */
 public class FileAppender extends Appender {
 
 	public static final Option OPTION_LOG_FILE = new Option("logFile", null);
 
 	private static final String DEFAULT_FILENAME = "androidannotations.log";
 
+	private static final int QUEUE_CAPACITY = 4096;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Queued after the last message, to stop the writer. The writer is not
+	 * interrupted instead, since that would close the file channel.
+	 */
+	private static final Object END_OF_LOG = new Object();
+
+	private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final Object writtenLock = new Object();
+	private final Charset charset = Charset.defaultCharset();
+
 	private File file;
-	private FileOutputStream outputStream;
+	private volatile FileChannel channel;
+	private Thread writerThread;
+
+	private long appendedCount;
+	private long writtenCount;
 
 	public FileAppender() {
 		super(new FormatterFull());
@@ -50,36 +80,134 @@ public class FileAppender extends Appender {
 	public synchronized void open() {
 		if (!isStreamOpened()) {
 			try {
-				outputStream = new FileOutputStream(file, true);
+				channel = new FileOutputStream(file, true).getChannel();
 			} catch (FileNotFoundException e) {
 				e.printStackTrace();
+				return;
 			}
+			writerThread = new Thread(new Writer(), "AndroidAnnotations-FileAppender");
+			writerThread.setDaemon(true);
+			writerThread.start();
 		}
 	}
 
 	@Override
 	public synchronized void close(boolean lastRound) {
+		if (!isStreamOpened()) {
+			return;
+		}
+		awaitWritten();
+		if (!lastRound) {
+			return;
+		}
+
+		try {
+			queue.put(END_OF_LOG);
+			writerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		writerThread = null;
+
+		try {
+			channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		channel = null;
+	}
+
+	@Override
+	public void append(Level level, Element element, AnnotationMirror annotationMirror, String message) {
 		if (isStreamOpened()) {
+			synchronized (writtenLock) {
+				appendedCount++;
+			}
 			try {
-				outputStream.close();
-			} catch (IOException e) {
-				e.printStackTrace();
+				queue.put(message);
+			} catch (InterruptedException e) {
+				synchronized (writtenLock) {
+					appendedCount--;
+					writtenLock.notifyAll();
+				}
+				Thread.currentThread().interrupt();
 			}
-			outputStream = null;
 		}
 	}
 
-	@Override
-	public synchronized void append(Level level, Element element, AnnotationMirror annotationMirror, String message) {
-		if (isStreamOpened()) {
+	private void awaitWritten() {
+		synchronized (writtenLock) {
+			while (writtenCount < appendedCount && writerThread.isAlive()) {
+				try {
+					writtenLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Takes the queued messages by batches, and writes each batch through a
+	 * buffer, until it takes {@link #END_OF_LOG}.
+	 */
+	private class Writer implements Runnable {
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		private final List<Object> batch = new ArrayList<>();
+
+		@Override
+		public void run() {
+			boolean running = true;
+			while (running) {
+				try {
+					batch.add(queue.take());
+				} catch (InterruptedException e) {
+					return;
+				}
+				queue.drainTo(batch);
+				running = !batch.remove(END_OF_LOG);
+				write(batch);
+				synchronized (writtenLock) {
+					writtenCount += batch.size();
+					writtenLock.notifyAll();
+				}
+				batch.clear();
+			}
+		}
+
+		private void write(List<Object> messages) {
 			try {
-				message += "\n";
-				outputStream.write(message.getBytes());
-				outputStream.flush();
+				for (Object message : messages) {
+					byte[] bytes = (message + "\n").getBytes(charset);
+					if (bytes.length > buffer.remaining()) {
+						writeBuffer();
+					}
+					if (bytes.length > buffer.capacity()) {
+						writeFully(ByteBuffer.wrap(bytes));
+					} else {
+						buffer.put(bytes);
+					}
+				}
+				writeBuffer();
 			} catch (IOException e) {
+				buffer.clear();
 				e.printStackTrace();
 			}
 		}
+
+		private void writeBuffer() throws IOException {
+			buffer.flip();
+			writeFully(buffer);
+			buffer.clear();
+		}
+
+		private void writeFully(ByteBuffer bytes) throws IOException {
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		}
 	}
 
 	@Override
@@ -123,7 +251,7 @@ public class FileAppender extends Appender {
 	}
 
 	private boolean isStreamOpened() {
-		return outputStream != null;
+		return channel != null;
 	}
 
 }
@@ -27,7 +27,16 @@ import org.androidannotations.logger.Logger;
 
 public abstract class Formatter {
 
-	private static final DateFormat DATE_FORMAT = new SimpleDateFormat("HH:mm:ss.S");
+	/**
+	 * One instance per thread, since the validation may log from several threads
+	 * and {@link SimpleDateFormat} is not thread-safe.
+	 */
+	private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
+		@Override
+		protected DateFormat initialValue() {
+			return new SimpleDateFormat("HH:mm:ss.S");
+		}
+	};
 	private static final String ARGS_PATTERN = "{}";
 	private static final int ARGS_PATTERN_LENGTH = ARGS_PATTERN.length();
 
@@ -38,11 +47,11 @@ public abstract class Formatter {
 	}
 
 	protected String getTime() {
-		return DATE_FORMAT.format(new Date());
+		return DATE_FORMAT.get().format(new Date());
 	}
 
 	protected String buildFullMessage(String message, Object... args) {
-		StringBuilder stringBuilder = new StringBuilder(message.length());
+		StringBuilder stringBuilder = new StringBuilder(message.length() + 16 * args.length);
 		int lastIndex = 0;
 		int argIndex = 0;
 
@@ -52,7 +61,7 @@ public abstract class Formatter {
 				break;
 			}
 
-			stringBuilder.append(message.substring(lastIndex, argPos));
+			stringBuilder.append(message, lastIndex, argPos);
 
 			lastIndex = argPos + ARGS_PATTERN_LENGTH;
 
@@ -63,7 +72,7 @@ public abstract class Formatter {
 			}
 		}
 
-		stringBuilder.append(message.substring(lastIndex));
+		stringBuilder.append(message, lastIndex, message.length());
 
 		return stringBuilder.toString();
 	}
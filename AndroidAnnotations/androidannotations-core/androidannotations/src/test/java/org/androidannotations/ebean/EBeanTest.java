@@ -16,6 +16,8 @@
  */
 package org.androidannotations.ebean;
 
+import java.io.IOException;
+
 import org.androidannotations.internal.AndroidAnnotationProcessor;
 import org.androidannotations.testutils.AAProcessorTestHelper;
 import org.junit.Before;
@@ -55,4 +57,12 @@ public class EBeanTest extends AAProcessorTestHelper {
 		assertCompilationError(compileFiles(SomeBeanWithNonContextConstructors.class, SomeBeanWithContextAndNoParamsConstructors.class));
 	}
 
+	@Test
+	public void deferredInjectionOfBeansUsingViewsDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ActivityWithDeferredViewSupportBeans.class, ViewSupportBean.class, ViewSupportBeanExt.class, BeanInjectingViewSupportBean.class,
+				SingletonBean.class);
+		assertCompilationErrorOn(ActivityWithDeferredViewSupportBeans.class, "@Bean", result);
+		assertCompilationErrorCount(3, result);
+	}
+
 }
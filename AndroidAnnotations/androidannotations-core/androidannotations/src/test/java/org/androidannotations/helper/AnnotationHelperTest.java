@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.annotations.Bean;
+import org.androidannotations.internal.model.AnnotationElements;
+import org.junit.Test;
+
+public class AnnotationHelperTest {
+
+	private static final String FIXTURE = "fixture.Fixture";
+
+	private static final String FIXTURES_SOURCE = "package fixture;\n" //
+			+ "@interface Nested { String value(); }\n" //
+			+ "@interface Fixture {\n" //
+			+ "	Class<?>[] classes() default {};\n" //
+			+ "	Class<?> type() default Object.class;\n" //
+			+ "	Nested nested() default @Nested(\"default\");\n" //
+			+ "	int number() default 0;\n" //
+			+ "}\n" //
+			+ "@Fixture(classes = { String.class, Integer.class }, nested = @Nested(\"nested\"), number = 1)\n" //
+			+ "class Annotated {}\n" //
+			+ "@Fixture(classes = { String.class, Missing.class }, number = Missing.NUMBER)\n" //
+			+ "class Erroneous {}\n" //
+			+ "class UnresolvedBean {\n" //
+			+ "	@org.androidannotations.annotations.Bean(Missing.class) Object bean;\n" //
+			+ "}\n";
+
+	private AndroidAnnotationsEnvironment environment;
+
+	@Test
+	public void classArrayParameterIsDecodedAsTypeMirrors() throws Throwable {
+		processFixtures(new FixtureCheck() {
+			@Override
+			public void check(AnnotationHelper annotationHelper, RoundEnvironment roundEnvironment) {
+				Element annotated = fixture(roundEnvironment, "Annotated");
+
+				Object classes = annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "classes");
+				assertTrue(classes instanceof TypeMirror[]);
+				TypeMirror[] classMirrors = (TypeMirror[]) classes;
+				assertEquals(Arrays.asList("java.lang.String", "java.lang.Integer"), Arrays.asList(classMirrors[0].toString(), classMirrors[1].toString()));
+
+				// each call gets its own copy of the cached array
+				classMirrors[0] = null;
+				Object classesAgain = annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "classes");
+				assertNotSame(classes, classesAgain);
+				assertEquals("java.lang.String", ((TypeMirror[]) classesAgain)[0].toString());
+
+				Integer number = annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "number");
+				assertEquals(Integer.valueOf(1), number);
+			}
+		});
+	}
+
+	@Test
+	public void nestedAnnotationParameterIsDecodedAsAnnotationMirror() throws Throwable {
+		processFixtures(new FixtureCheck() {
+			@Override
+			public void check(AnnotationHelper annotationHelper, RoundEnvironment roundEnvironment) {
+				Element annotated = fixture(roundEnvironment, "Annotated");
+
+				Object nested = annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "nested");
+				assertTrue(nested instanceof AnnotationMirror);
+				AnnotationMirror nestedMirror = (AnnotationMirror) nested;
+				assertEquals("fixture.Nested", nestedMirror.getAnnotationType().toString());
+				assertEquals("nested", nestedMirror.getElementValues().values().iterator().next().getValue());
+			}
+		});
+	}
+
+	@Test
+	public void erroneousParametersAreDecodedAsNull() throws Throwable {
+		processFixtures(new FixtureCheck() {
+			@Override
+			public void check(AnnotationHelper annotationHelper, RoundEnvironment roundEnvironment) {
+				Element erroneous = fixture(roundEnvironment, "Erroneous");
+
+				assertNull(annotationHelper.extractAnnotationParameter(erroneous, FIXTURE, "classes"));
+				assertNull(annotationHelper.extractAnnotationParameter(erroneous, FIXTURE, "number"));
+			}
+		});
+	}
+
+	@Test
+	public void unresolvedClassParameterIsDecodedAsErrorType() throws Throwable {
+		processFixtures(new FixtureCheck() {
+			@Override
+			public void check(AnnotationHelper annotationHelper, RoundEnvironment roundEnvironment) {
+				Element bean = ElementFilter.fieldsIn(fixture(roundEnvironment, "UnresolvedBean").getEnclosedElements()).get(0);
+
+				TypeMirror beanType = annotationHelper.extractAnnotationParameter(bean, Bean.class.getName(), "value");
+				assertEquals(TypeKind.ERROR, beanType.getKind());
+			}
+		});
+	}
+
+	@Test
+	public void decodedParametersAreCachedUntilTheNextRound() throws Throwable {
+		processFixtures(new FixtureCheck() {
+			@Override
+			public void check(AnnotationHelper annotationHelper, RoundEnvironment roundEnvironment) {
+				// the mirrors are looked up each time the parameters are decoded
+				Element annotated = mock(Element.class);
+				doReturn(fixture(roundEnvironment, "Annotated").getAnnotationMirrors()).when(annotated).getAnnotationMirrors();
+
+				annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "classes");
+				annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "number");
+				verify(annotated, times(1)).getAnnotationMirrors();
+
+				// a new round comes with a new extracted model
+				doReturn(mock(AnnotationElements.class)).when(environment).getExtractedElements();
+				annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "type");
+				annotationHelper.extractAnnotationParameter(annotated, FIXTURE, "nested");
+				verify(annotated, times(2)).getAnnotationMirrors();
+			}
+		});
+	}
+
+	private Element fixture(RoundEnvironment roundEnvironment, String simpleName) {
+		for (Element element : roundEnvironment.getRootElements()) {
+			if (element.getSimpleName().contentEquals(simpleName)) {
+				return element;
+			}
+		}
+		throw new AssertionError("Could not find the fixture " + simpleName);
+	}
+
+	/**
+	 * Compiles the fixtures, which do not all compile, and runs the check on the
+	 * mirrors of the first round.
+	 */
+	private void processFixtures(FixtureCheck check) throws Throwable {
+		JavaFileObject fixtures = new SimpleJavaFileObject(URI.create("string:///fixture/Fixtures.java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return FIXTURES_SOURCE;
+			}
+		};
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnosticCollector = new DiagnosticCollector<>();
+		String apiClasspath = new File(Bean.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnosticCollector, Arrays.asList("-proc:only", "-classpath", apiClasspath), null,
+				Collections.singletonList(fixtures));
+		CheckingProcessor processor = new CheckingProcessor(check);
+		task.setProcessors(Collections.singletonList(processor));
+		task.call();
+
+		if (!processor.processed) {
+			throw new AssertionError("The fixtures were not processed: " + diagnosticCollector.getDiagnostics());
+		}
+		if (processor.failure != null) {
+			throw processor.failure;
+		}
+	}
+
+	private interface FixtureCheck {
+		void check(AnnotationHelper annotationHelper, RoundEnvironment roundEnvironment);
+	}
+
+	private class CheckingProcessor extends AbstractProcessor {
+
+		private final FixtureCheck check;
+		private boolean processed;
+		private Throwable failure;
+
+		CheckingProcessor(FixtureCheck check) {
+			this.check = check;
+		}
+
+		@Override
+		public Set<String> getSupportedAnnotationTypes() {
+			return Collections.singleton("*");
+		}
+
+		@Override
+		public SourceVersion getSupportedSourceVersion() {
+			return SourceVersion.latestSupported();
+		}
+
+		@Override
+		public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+			if (processed || roundEnv.processingOver()) {
+				return false;
+			}
+			processed = true;
+
+			environment = mock(AndroidAnnotationsEnvironment.class);
+			doReturn(processingEnv).when(environment).getProcessingEnvironment();
+			doReturn(mock(AnnotationElements.class)).when(environment).getExtractedElements();
+
+			try {
+				check.check(new AnnotationHelper(environment), roundEnv);
+			} catch (Throwable t) {
+				failure = t;
+			}
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.internal.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TimeStatsTest {
+
+	private TimeStats timeStats;
+	private File tempDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		timeStats = new TimeStats();
+		timeStats.setProfiling(true);
+		tempDirectory = Files.createTempDirectory("timestats").toFile();
+
+		TypeElement element = Mockito.mock(TypeElement.class);
+		Name name = Mockito.mock(Name.class);
+		Mockito.when(name.toString()).thenReturn("com.example.Main\"Activity");
+		Mockito.when(element.getQualifiedName()).thenReturn(name);
+
+		timeStats.start("Validate Annotations");
+		timeStats.addElementDuration(TimeStats.PHASE_VALIDATE, "EActivityHandler", element, 10);
+		timeStats.stop("Validate Annotations");
+		timeStats.addElementDuration(TimeStats.PHASE_PROCESS, "EActivityHandler", element, 30);
+		timeStats.addGeneratedArtifacts(2);
+	}
+
+	@After
+	public void tearDown() {
+		for (File file : tempDirectory.listFiles()) {
+			file.delete();
+		}
+		tempDirectory.delete();
+	}
+
+	@Test
+	public void writesCsvReport() throws IOException {
+		File report = new File(tempDirectory, "report.csv");
+		timeStats.writeReport(report);
+
+		List<String> lines = Files.readAllLines(report.toPath(), Charset.forName("UTF-8"));
+		assertEquals("type,name,phase,element,count,durationInNanos", lines.get(0));
+		assertTrue(lines.get(1).startsWith("phase,Validate Annotations,,,1,"));
+		assertEquals("handler,EActivityHandler,validate,,1,10", lines.get(2));
+		assertEquals("handler,EActivityHandler,process,,1,30", lines.get(3));
+		assertEquals("element,EActivityHandler,validate,\"com.example.Main\"\"Activity\",1,10", lines.get(4));
+		assertEquals("artifacts,generated,,,2,0", lines.get(lines.size() - 1));
+	}
+
+	@Test
+	public void writesJsonReport() throws IOException {
+		File report = new File(tempDirectory, "report.json");
+		timeStats.writeReport(report);
+
+		String content = new String(Files.readAllBytes(report.toPath()), Charset.forName("UTF-8"));
+		assertTrue(content.contains("\"generatedArtifacts\": 2"));
+		assertTrue(content.contains("{\"name\": \"EActivityHandler\", \"validatedElements\": 1, \"validateDurationInNanos\": 10, \"processedElements\": 1, \"processDurationInNanos\": 30}"));
+		assertTrue(content.contains("\"element\": \"com.example.Main\\\"Activity\""));
+	}
+
+	@Test
+	public void clearKeepsReportMeasures() throws IOException {
+		timeStats.clear();
+
+		File report = new File(tempDirectory, "report.csv");
+		timeStats.writeReport(report);
+
+		List<String> lines = Files.readAllLines(report.toPath(), Charset.forName("UTF-8"));
+		assertTrue(lines.get(1).startsWith("phase,Validate Annotations,,,1,"));
+	}
+
+	@Test
+	public void elementDurationsAreNotRecordedWithoutProfiling() throws IOException {
+		TimeStats disabledTimeStats = new TimeStats();
+		TypeElement element = Mockito.mock(TypeElement.class);
+		disabledTimeStats.addElementDuration(TimeStats.PHASE_VALIDATE, "EActivityHandler", element, 10);
+		Mockito.verifyNoMoreInteractions(element);
+
+		File report = new File(tempDirectory, "report.csv");
+		disabledTimeStats.writeReport(report);
+
+		List<String> lines = Files.readAllLines(report.toPath(), Charset.forName("UTF-8"));
+		assertEquals(2, lines.size());
+		assertEquals("artifacts,generated,,,0,0", lines.get(1));
+	}
+}
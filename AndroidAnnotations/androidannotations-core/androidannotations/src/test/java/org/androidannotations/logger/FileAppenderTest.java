@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.logger.appender.FileAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public class FileAppenderTest {
+
+	private static final String WRITER_THREAD_NAME = "AndroidAnnotations-FileAppender";
+
+	private File tempDirectory;
+	private File logFile;
+	private AndroidAnnotationsEnvironment environment;
+
+	@Before
+	public void setUp() throws IOException {
+		tempDirectory = Files.createTempDirectory("fileappender").toFile();
+		logFile = new File(tempDirectory, "androidannotations.log");
+
+		FileObject dummySourceFile = Mockito.mock(FileObject.class);
+		Mockito.when(dummySourceFile.toUri()).thenReturn(new File(tempDirectory, "generated/dummy").toURI());
+		Filer filer = Mockito.mock(Filer.class);
+		Mockito.when(filer.createResource(ArgumentMatchers.eq(StandardLocation.SOURCE_OUTPUT), ArgumentMatchers.<CharSequence> any(), ArgumentMatchers.<CharSequence> any(),
+				ArgumentMatchers.any())).thenReturn(dummySourceFile);
+
+		ProcessingEnvironment processingEnv = Mockito.mock(ProcessingEnvironment.class);
+		Mockito.when(processingEnv.getFiler()).thenReturn(filer);
+		Mockito.when(processingEnv.getMessager()).thenReturn(Mockito.mock(Messager.class));
+
+		environment = Mockito.mock(AndroidAnnotationsEnvironment.class);
+		Mockito.when(environment.getProcessingEnvironment()).thenReturn(processingEnv);
+		Mockito.when(environment.getOptionValue(FileAppender.OPTION_LOG_FILE)).thenReturn("{outputFolder}/androidannotations.log");
+		Mockito.when(environment.getOptionValue(LoggerContext.OPTION_LOG_LEVEL)).thenReturn("WARN");
+		Mockito.when(environment.getOptionBooleanValue(LoggerContext.OPTION_LOG_APPENDER_FILE)).thenReturn(true);
+	}
+
+	@After
+	public void tearDown() {
+		LoggerContext.getInstance().close(true);
+		for (File file : tempDirectory.listFiles()) {
+			file.delete();
+		}
+		tempDirectory.delete();
+	}
+
+	@Test
+	public void writesTheQueuedLogsAtTheEndOfEachRound() throws IOException {
+		FileAppender appender = new FileAppender();
+		appender.setEnvironment(environment);
+		appender.open();
+
+		appender.append(Level.WARN, null, null, "first");
+		appender.append(Level.WARN, null, null, "second");
+		appender.close(false);
+		assertEquals(Arrays.asList("first", "second"), readLog());
+
+		appender.append(Level.WARN, null, null, "third");
+		appender.close(true);
+		assertEquals(Arrays.asList("first", "second", "third"), readLog());
+	}
+
+	@Test
+	public void dropsTheLogsAppendedAfterTheLastRound() throws IOException {
+		Set<Thread> existingWriters = writerThreads();
+		FileAppender appender = new FileAppender();
+		appender.setEnvironment(environment);
+		appender.open();
+		Set<Thread> appenderWriters = writerThreads();
+		appenderWriters.removeAll(existingWriters);
+
+		appender.append(Level.WARN, null, null, "first");
+		appender.close(true);
+		appender.append(Level.WARN, null, null, "second");
+		appender.close(true);
+
+		assertEquals(Collections.singletonList("first"), readLog());
+		assertEquals(1, appenderWriters.size());
+		assertFalse(appenderWriters.iterator().next().isAlive());
+	}
+
+	@Test
+	public void settingTheEnvironmentAgainClosesThePreviousFileAppender() throws IOException {
+		LoggerContext loggerContext = LoggerContext.getInstance();
+		Set<Thread> existingWriters = writerThreads();
+
+		loggerContext.setEnvironment(environment);
+		Set<Thread> previousWriters = writerThreads();
+		previousWriters.removeAll(existingWriters);
+		assertEquals(1, previousWriters.size());
+
+		loggerContext.writeLog(Level.WARN, getClass().getName(), "before the new environment", null, null, null);
+		loggerContext.setEnvironment(environment);
+
+		for (Thread previousWriter : previousWriters) {
+			assertFalse(previousWriter.isAlive());
+		}
+		List<String> lines = readLog();
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0).endsWith("before the new environment"));
+	}
+
+	private List<String> readLog() throws IOException {
+		return Files.readAllLines(logFile.toPath(), Charset.defaultCharset());
+	}
+
+	private Set<Thread> writerThreads() {
+		Set<Thread> writers = new HashSet<>();
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (WRITER_THREAD_NAME.equals(thread.getName())) {
+				writers.add(thread);
+			}
+		}
+		return writers;
+	}
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.viewbyid;
+
+import java.io.File;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SinglePassViewBindingTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(SinglePassViewBindingTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+		ensureOutputDirectoryIsEmpty();
+	}
+
+	@Test
+	public void singlePassViewBindingFindsViewsWithBindingTable() {
+		addProcessorParameter("singlePassViewBinding", "true");
+
+		CompileResult result = compileFiles(ViewsBoundActivity.class);
+		File generatedFile = toGeneratedFile(ViewsBoundActivity.class);
+
+		assertCompilationSuccessful(result);
+
+		assertGeneratedClassMatches(generatedFile, ".*implements .*HasRootView.*");
+		assertGeneratedClassMatches(generatedFile, ".*public View internalGetRootView\\(\\) \\{.*");
+		assertGeneratedClassMatches(generatedFile, ".*private static final ViewBindingTable viewBindingTable_ = new ViewBindingTable\\(.*R\\.id\\.view2.*\\);.*");
+		assertGeneratedClassMatches(generatedFile, ".*View\\[\\] boundViews_ = viewBindingTable_\\.findViews\\(hasViews\\);.*");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*hasViews\\.internalFindViewById\\(R\\.id\\..*");
+	}
+
+	@Test
+	public void viewsAreFoundByIdByDefault() {
+		CompileResult result = compileFiles(ViewsBoundActivity.class);
+		File generatedFile = toGeneratedFile(ViewsBoundActivity.class);
+
+		assertCompilationSuccessful(result);
+
+		assertGeneratedClassMatches(generatedFile, ".*hasViews\\.internalFindViewById\\(R\\.id\\.view2\\).*");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*ViewBindingTable.*");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*HasRootView.*");
+	}
+}
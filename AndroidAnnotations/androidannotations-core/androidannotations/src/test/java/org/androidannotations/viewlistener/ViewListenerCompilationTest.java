@@ -46,6 +46,20 @@ public class ViewListenerCompilationTest extends AAProcessorTestHelper {
 		assertCompilationError(compileFiles(BadEditorActionViewListenerActivity.class));
 	}
 
+	@Test
+	public void ensureDuplicateClickIdCompilationError() throws IOException {
+		CompileResult result = compileFiles(DuplicateClickIdActivity.class);
+		assertCompilationErrorOn(DuplicateClickIdActivity.class, "@Click({ R.id.view2, R.id.view })", result);
+		assertCompilationErrorCount(1, result);
+	}
+
+	@Test
+	public void invalidElementDoesNotReserveItsClickId() throws IOException {
+		CompileResult result = compileFiles(InvalidFirstDuplicateClickIdActivity.class);
+		assertCompilationErrorOn(InvalidFirstDuplicateClickIdActivity.class, "@Click(R.id.view)", result);
+		assertCompilationErrorCount(1, result);
+	}
+
 	@Test
 	public void ensureCompundButtonListenerCompilationSuccessful() throws IOException {
 		assertCompilationSuccessful(compileFiles(CompoundButtonListenerActivity.class));
@@ -93,7 +93,7 @@ public class OrmLiteValidatorHelper {
 		TypeMirror helperType = annotationHelper.extractAnnotationParameter(element, OrmLiteDao.class.getName(), "helper");
 
 		TypeMirror openHelperType = annotationHelper.typeElementFromQualifiedName(CanonicalNameConstants.SQLITE_OPEN_HELPER).asType();
-		if (!annotationHelper.isSubtype(helperType, openHelperType)) {
+		if (helperType == null || !annotationHelper.isSubtype(helperType, openHelperType)) {
 			valid.addError("%s helper() parameter must extend " + CanonicalNameConstants.SQLITE_OPEN_HELPER);
 		}
 	}
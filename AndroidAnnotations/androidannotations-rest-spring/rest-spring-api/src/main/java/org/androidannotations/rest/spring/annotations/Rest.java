@@ -171,6 +171,14 @@ import java.lang.annotation.Target;
  * </pre>
  * 
  * </blockquote>
+ * 
+ * <p>
+ * By default, each client instance creates its own request factory. Setting
+ * {@link #sharedRequestFactory()} makes the clients use the
+ * {@link org.androidannotations.rest.spring.api.SharedRequestFactory
+ * SharedRequestFactory} instead, which is configured once per process and
+ * reuses its connections across all of them.
+ * </p>
  *
  * <h1>ResponseErrorHandler</h1>
  * <p>
@@ -213,6 +221,43 @@ import java.lang.annotation.Target;
  *
  * </blockquote>
  * 
+ * <h1>Asynchronous and streaming methods</h1>
+ * <p>
+ * A method returning a
+ * {@link org.androidannotations.rest.spring.api.RestFuture RestFuture} is
+ * executed on the {@link org.androidannotations.api.BackgroundExecutor
+ * BackgroundExecutor}, with the qualified name of the interface as id, so
+ * that the calls of the client can be cancelled with
+ * {@link org.androidannotations.api.BackgroundExecutor#cancelAll(String, boolean)
+ * BackgroundExecutor.cancelAll()}.
+ * </p>
+ * <p>
+ * A method returning an {@link java.io.InputStream InputStream} or a
+ * {@link org.androidannotations.rest.spring.api.StreamingResponse
+ * StreamingResponse} does not read the response body: it is read from the
+ * connection by the caller, which must close it.
+ * </p>
+ * <blockquote>
+ * 
+ * <b>Example :</b>
+ * 
+ * <pre>
+ * &#064;Rest(converters = MappingJacksonHttpMessageConverter.class)
+ * public interface MyRestClient {
+ * 
+ * 	&#064;Get(&quot;/events&quot;)
+ * 	RestFuture&lt;EventList&gt; getEvents();
+ * 
+ * 	&#064;Get(&quot;/files/{name}&quot;)
+ * 	InputStream download(&#064;Path String name);
+ * 
+ * 	&#064;Get(&quot;/files/{name}&quot;)
+ * 	RestFuture&lt;InputStream&gt; downloadInBackground(&#064;Path String name);
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
  * <h1>Magic methods</h1>
  * <p>
  * AA will automatically detect and implement some methods in {@link Rest}
@@ -317,6 +362,17 @@ public @interface Rest {
 	 */
 	Class<?> requestFactory() default Void.class;
 
+	/**
+	 * Whether the client uses the request factory shared by all the clients,
+	 * instead of creating its own. It cannot be combined with
+	 * {@link #requestFactory()}.
+	 * 
+	 * @see org.androidannotations.rest.spring.api.SharedRequestFactory
+	 * 
+	 * @return <code>true</code> to use the shared request factory
+	 */
+	boolean sharedRequestFactory() default false;
+
 	/**
 	 * The response error handler class which is used to handle errors.
 	 *
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+/**
+ * Receives the outcome of a {@link RestFuture}. Exactly one of its methods is
+ * called, from the thread which completed the call: the background thread
+ * which executed it, or the thread which cancelled it.
+ *
+ * @param <T>
+ *            the type of the result
+ */
+public interface RestCallback<T> {
+
+	/**
+	 * Called when the call succeeded.
+	 *
+	 * @param result
+	 *            the result of the call
+	 */
+	void onSuccess(T result);
+
+	/**
+	 * Called when the call failed.
+	 *
+	 * @param e
+	 *            the exception thrown by the call
+	 */
+	void onError(Throwable e);
+
+	/**
+	 * Called when the call was cancelled.
+	 */
+	void onCancelled();
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.androidannotations.api.BackgroundExecutor;
+
+/**
+ * The result of a {@link org.androidannotations.rest.spring.annotations.Rest
+ * Rest} method executed on the {@link BackgroundExecutor}, which is returned
+ * by the methods declaring a <code>RestFuture</code> return type.
+ * <p>
+ * The calls are executed with the qualified name of their
+ * {@link org.androidannotations.rest.spring.annotations.Rest Rest} interface as
+ * id, so that all the pending and running calls of a client can be cancelled
+ * with {@link BackgroundExecutor#cancelAll(String, boolean)}.
+ * </p>
+ * <blockquote>
+ *
+ * <b>Example</b> :
+ *
+ * <pre>
+ * &#064;Rest(converters = MappingJacksonHttpMessageConverter.class)
+ * public interface MyRestClient {
+ *
+ * 	&#064;Get(&quot;/events/{id}&quot;)
+ * 	RestFuture&lt;Event&gt; getEvent(&#064;Path long id);
+ * }
+ *
+ * myRestClient.getEvent(42).setCallback(new RestCallback&lt;Event&gt;() {
+ * 	// ...
+ * });
+ *
+ * // in onDestroy()
+ * BackgroundExecutor.cancelAll(MyRestClient.class.getName(), true);
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @param <T>
+ *            the type of the result
+ */
+public class RestFuture<T> extends FutureTask<T> {
+
+	private final String id;
+
+	private RestCallback<T> callback;
+	private boolean callbackNotified;
+
+	public RestFuture(String id, Callable<T> callable) {
+		super(callable);
+		this.id = id;
+	}
+
+	/**
+	 * @return the id of this call on the {@link BackgroundExecutor}
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Submits this call to the {@link BackgroundExecutor}.
+	 *
+	 * @return this future
+	 */
+	public RestFuture<T> execute() {
+		BackgroundExecutor.execute(new BackgroundExecutor.Task(id, 0L, "") {
+
+			@Override
+			public void execute() {
+				RestFuture.this.run();
+			}
+
+			@Override
+			protected void onCancel(boolean mayInterruptIfRunning) {
+				RestFuture.this.cancel(mayInterruptIfRunning);
+			}
+		});
+		return this;
+	}
+
+	/**
+	 * Sets the callback notified of the outcome of this call. If the call is
+	 * already done, the callback is notified right away, from the calling
+	 * thread.
+	 *
+	 * @param callback
+	 *            the callback to notify
+	 */
+	public void setCallback(RestCallback<T> callback) {
+		synchronized (this) {
+			this.callback = callback;
+			if (!isDone() || callbackNotified) {
+				return;
+			}
+			callbackNotified = true;
+		}
+		notifyCallback(callback);
+	}
+
+	@Override
+	protected void done() {
+		RestCallback<T> currentCallback;
+		synchronized (this) {
+			currentCallback = callback;
+			if (currentCallback == null || callbackNotified) {
+				return;
+			}
+			callbackNotified = true;
+		}
+		notifyCallback(currentCallback);
+	}
+
+	private void notifyCallback(RestCallback<T> callback) {
+		T result;
+		try {
+			result = get();
+		} catch (CancellationException e) {
+			callback.onCancelled();
+			return;
+		} catch (ExecutionException e) {
+			callback.onError(e.getCause());
+			return;
+		} catch (InterruptedException e) {
+			/* cannot happen, this call is done */
+			Thread.currentThread().interrupt();
+			callback.onCancelled();
+			return;
+		}
+		callback.onSuccess(result);
+	}
+}
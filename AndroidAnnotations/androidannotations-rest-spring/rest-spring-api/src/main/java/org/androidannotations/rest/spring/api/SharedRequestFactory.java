@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Holds the {@link ClientHttpRequestFactory} shared by the
+ * {@link org.androidannotations.rest.spring.annotations.Rest Rest} clients
+ * having {@link org.androidannotations.rest.spring.annotations.Rest#sharedRequestFactory()
+ * sharedRequestFactory} enabled, so that they all share the same configuration
+ * and the same pool of connections.
+ * <p>
+ * It has to be configured once per process, before the first client is
+ * created, for example in {@link android.app.Application#onCreate()}. By
+ * default, it creates a {@link SimpleClientHttpRequestFactory} with the
+ * configured timeouts. Its {@link java.net.HttpURLConnection HttpURLConnection}
+ * keeps the connections alive and pools them per route. The keep-alive and the
+ * size of this pool, when configured here, are set through the
+ * <code>http.keepAlive</code> and <code>http.maxConnections</code> system
+ * properties, which apply to the whole process.
+ * </p>
+ * <blockquote>
+ *
+ * <b>Example</b> :
+ *
+ * <pre>
+ * SharedRequestFactory.setConnectTimeout(5000);
+ * SharedRequestFactory.setReadTimeout(15000);
+ * SharedRequestFactory.setMaxConnections(8);
+ * </pre>
+ *
+ * </blockquote>
+ */
+public final class SharedRequestFactory {
+
+	private static final String KEEP_ALIVE_PROPERTY = "http.keepAlive";
+	private static final String MAX_CONNECTIONS_PROPERTY = "http.maxConnections";
+
+	private static int connectTimeout = -1;
+	private static int readTimeout = -1;
+	private static int maxConnections = -1;
+	private static Boolean keepAlive;
+
+	private static volatile ClientHttpRequestFactory requestFactory;
+
+	private SharedRequestFactory() {
+	}
+
+	/**
+	 * @param timeout
+	 *            the connect timeout in milliseconds, <code>0</code> for no
+	 *            timeout
+	 */
+	public static synchronized void setConnectTimeout(int timeout) {
+		checkNotCreated();
+		connectTimeout = timeout;
+	}
+
+	/**
+	 * @param timeout
+	 *            the read timeout in milliseconds, <code>0</code> for no
+	 *            timeout
+	 */
+	public static synchronized void setReadTimeout(int timeout) {
+		checkNotCreated();
+		readTimeout = timeout;
+	}
+
+	/**
+	 * Sets the <code>http.maxConnections</code> system property.
+	 *
+	 * @param max
+	 *            the maximum number of idle connections kept per route,
+	 *            <code>5</code> by default
+	 */
+	public static synchronized void setMaxConnections(int max) {
+		if (max <= 0) {
+			throw new IllegalArgumentException("The maximum number of connections must be positive");
+		}
+		checkNotCreated();
+		maxConnections = max;
+	}
+
+	/**
+	 * Sets the <code>http.keepAlive</code> system property.
+	 *
+	 * @param enabled
+	 *            whether the connections are kept alive between requests,
+	 *            <code>true</code> by default
+	 */
+	public static synchronized void setKeepAlive(boolean enabled) {
+		checkNotCreated();
+		keepAlive = enabled;
+	}
+
+	/**
+	 * Replaces the default request factory, for example by one backed by
+	 * another HTTP client.
+	 *
+	 * @param factory
+	 *            the request factory to share
+	 */
+	public static synchronized void set(ClientHttpRequestFactory factory) {
+		if (factory == null) {
+			throw new IllegalArgumentException("The shared request factory cannot be null");
+		}
+		checkNotCreated();
+		requestFactory = factory;
+	}
+
+	/**
+	 * @return the shared request factory, which is created by the first call
+	 */
+	public static ClientHttpRequestFactory get() {
+		ClientHttpRequestFactory factory = requestFactory;
+		if (factory == null) {
+			synchronized (SharedRequestFactory.class) {
+				factory = requestFactory;
+				if (factory == null) {
+					factory = createRequestFactory();
+					requestFactory = factory;
+				}
+			}
+		}
+		return factory;
+	}
+
+	private static ClientHttpRequestFactory createRequestFactory() {
+		if (keepAlive != null) {
+			System.setProperty(KEEP_ALIVE_PROPERTY, keepAlive.toString());
+		}
+		if (maxConnections > 0) {
+			System.setProperty(MAX_CONNECTIONS_PROPERTY, String.valueOf(maxConnections));
+		}
+
+		SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+		if (connectTimeout >= 0) {
+			factory.setConnectTimeout(connectTimeout);
+		}
+		if (readTimeout >= 0) {
+			factory.setReadTimeout(readTimeout);
+		}
+		return factory;
+	}
+
+	private static void checkNotCreated() {
+		if (requestFactory != null) {
+			throw new IllegalStateException("The shared request factory is already created");
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriTemplate;
+
+/**
+ * An HTTP response whose body is read from the connection as it arrives,
+ * instead of being converted and held in memory, which is returned by the
+ * {@link org.androidannotations.rest.spring.annotations.Rest Rest} methods
+ * declaring a <code>StreamingResponse</code> or an {@link InputStream} return
+ * type.
+ * <p>
+ * The connection stays open until the response, or its body, is closed.
+ * </p>
+ */
+public class StreamingResponse implements Closeable {
+
+	private final ClientHttpResponse response;
+	private final InputStream body;
+
+	StreamingResponse(ClientHttpResponse response) throws IOException {
+		this.response = response;
+		body = new FilterInputStream(response.getBody()) {
+			@Override
+			public void close() throws IOException {
+				StreamingResponse.this.close();
+			}
+		};
+	}
+
+	/**
+	 * Executes a request with the request factory, interceptors, message
+	 * converters and error handler of a {@link RestTemplate}, without reading
+	 * the response body.
+	 *
+	 * @param restTemplate
+	 *            the template to execute the request with
+	 * @param url
+	 *            the URL template
+	 * @param method
+	 *            the HTTP method
+	 * @param requestEntity
+	 *            the headers and body to send, may be <code>null</code>
+	 * @param urlVariables
+	 *            the variables of the URL template, may be <code>null</code>
+	 * @return the response, which must be closed
+	 */
+	public static StreamingResponse execute(RestTemplate restTemplate, String url, HttpMethod method, HttpEntity<?> requestEntity, Map<String, ?> urlVariables) {
+		URI uri = new UriTemplate(url).expand(urlVariables != null ? urlVariables : Collections.<String, Object> emptyMap());
+		ClientHttpResponse response = null;
+		try {
+			ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, method);
+			if (requestEntity != null) {
+				writeRequestEntity(restTemplate, requestEntity, request);
+			}
+			response = request.execute();
+
+			ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+			if (errorHandler.hasError(response)) {
+				errorHandler.handleError(response);
+			}
+
+			StreamingResponse streamingResponse = new StreamingResponse(response);
+			response = null;
+			return streamingResponse;
+		} catch (IOException e) {
+			throw new ResourceAccessException("I/O error on " + method.name() + " request for \"" + url + "\": " + e.getMessage(), e);
+		} finally {
+			if (response != null) {
+				response.close();
+			}
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void writeRequestEntity(RestTemplate restTemplate, HttpEntity<?> requestEntity, ClientHttpRequest request) throws IOException {
+		request.getHeaders().putAll(requestEntity.getHeaders());
+
+		Object requestBody = requestEntity.getBody();
+		if (requestBody == null) {
+			return;
+		}
+
+		org.springframework.http.MediaType contentType = requestEntity.getHeaders().getContentType();
+		for (HttpMessageConverter converter : restTemplate.getMessageConverters()) {
+			if (converter.canWrite(requestBody.getClass(), contentType)) {
+				converter.write(requestBody, contentType, request);
+				return;
+			}
+		}
+		throw new RestClientException("Could not write request: no suitable HttpMessageConverter found for request type [" + requestBody.getClass().getName() + "]");
+	}
+
+	public HttpStatus getStatusCode() throws IOException {
+		return response.getStatusCode();
+	}
+
+	public HttpHeaders getHeaders() {
+		return response.getHeaders();
+	}
+
+	/**
+	 * @return the body of the response, which closes the response when it is
+	 *         closed
+	 */
+	public InputStream getBody() {
+		return body;
+	}
+
+	@Override
+	public void close() {
+		response.close();
+	}
+}
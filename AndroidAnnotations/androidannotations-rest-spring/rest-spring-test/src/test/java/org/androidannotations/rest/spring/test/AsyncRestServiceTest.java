@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.androidannotations.api.BackgroundExecutor;
+import org.androidannotations.rest.spring.api.RestCallback;
+import org.androidannotations.rest.spring.api.RestFuture;
+import org.androidannotations.rest.spring.api.StreamingResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(RobolectricTestRunner.class)
+public class AsyncRestServiceTest {
+
+	private AsyncRestService_ service;
+	private RestTemplate restTemplate;
+
+	@Before
+	public void setUp() {
+		service = new AsyncRestService_(null);
+		restTemplate = mock(RestTemplate.class);
+		service.setRestTemplate(restTemplate);
+	}
+
+	@Test
+	public void asyncMethodReturnsResult() throws Exception {
+		Event event = new Event();
+		when(restTemplate.exchange(anyString(), ArgumentMatchers.<HttpMethod> any(), ArgumentMatchers.<HttpEntity<?>> any(), eq(Event.class), ArgumentMatchers.<Map<String, ?>> any()))
+				.thenReturn(new ResponseEntity<Event>(event, HttpStatus.OK));
+
+		RestFuture<Event> future = service.getEvent(42);
+
+		assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(event);
+		assertThat(future.getId()).isEqualTo(AsyncRestService.class.getName());
+	}
+
+	@Test
+	public void callbackIsNotifiedOfResult() throws Exception {
+		Event event = new Event();
+		when(restTemplate.exchange(anyString(), ArgumentMatchers.<HttpMethod> any(), ArgumentMatchers.<HttpEntity<?>> any(), eq(Event.class), ArgumentMatchers.<Map<String, ?>> any()))
+				.thenReturn(new ResponseEntity<Event>(event, HttpStatus.OK));
+		RecordingCallback callback = new RecordingCallback();
+
+		service.getEvent(42).setCallback(callback);
+
+		assertThat(callback.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(callback.result).isSameAs(event);
+	}
+
+	@Test
+	public void cancelAllCancelsCalls() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		when(restTemplate.exchange(anyString(), ArgumentMatchers.<HttpMethod> any(), ArgumentMatchers.<HttpEntity<?>> any(), eq(Event.class), ArgumentMatchers.<Map<String, ?>> any()))
+				.thenAnswer(new Answer<ResponseEntity<Event>>() {
+					@Override
+					public ResponseEntity<Event> answer(InvocationOnMock invocation) throws Throwable {
+						started.countDown();
+						new CountDownLatch(1).await();
+						return null;
+					}
+				});
+		RecordingCallback callback = new RecordingCallback();
+
+		RestFuture<Event> future = service.getEvent(42);
+		future.setCallback(callback);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		BackgroundExecutor.cancelAll(AsyncRestService.class.getName(), true);
+
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(callback.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(callback.cancelled).isTrue();
+	}
+
+	@Test
+	public void streamingMethodDoesNotReadBody() throws Exception {
+		ClientHttpResponse response = mockResponse("content");
+
+		InputStream body = service.download("file.txt");
+
+		assertThat(readFully(body)).isEqualTo("content");
+		body.close();
+		verify(response).close();
+	}
+
+	@Test
+	public void streamingResponseExposesHeaders() throws Exception {
+		ClientHttpResponse response = mockResponse("content");
+		HttpHeaders headers = new HttpHeaders();
+		when(response.getHeaders()).thenReturn(headers);
+
+		StreamingResponse streamingResponse = service.downloadResponse("file.txt");
+
+		assertThat(streamingResponse.getHeaders()).isSameAs(headers);
+		assertThat(readFully(streamingResponse.getBody())).isEqualTo("content");
+		streamingResponse.close();
+		verify(response).close();
+	}
+
+	@Test
+	public void asyncStreamingMethodReturnsBody() throws Exception {
+		mockResponse("content");
+
+		InputStream body = service.downloadInBackground("file.txt").get(5, TimeUnit.SECONDS);
+
+		assertThat(readFully(body)).isEqualTo("content");
+	}
+
+	private ClientHttpResponse mockResponse(String content) throws Exception {
+		ClientHttpRequestFactory requestFactory = mock(ClientHttpRequestFactory.class);
+		ClientHttpRequest request = mock(ClientHttpRequest.class);
+		ClientHttpResponse response = mock(ClientHttpResponse.class);
+		ResponseErrorHandler errorHandler = mock(ResponseErrorHandler.class);
+
+		when(restTemplate.getRequestFactory()).thenReturn(requestFactory);
+		when(restTemplate.getErrorHandler()).thenReturn(errorHandler);
+		when(requestFactory.createRequest(eq(new URI("http://company.com/ajax/services/files/file.txt")), eq(HttpMethod.GET))).thenReturn(request);
+		when(request.getHeaders()).thenReturn(new HttpHeaders());
+		when(request.execute()).thenReturn(response);
+		when(response.getBody()).thenReturn(new ByteArrayInputStream(content.getBytes("UTF-8")));
+		when(errorHandler.hasError(any(ClientHttpResponse.class))).thenReturn(false);
+		return response;
+	}
+
+	private static String readFully(InputStream inputStream) throws Exception {
+		StringBuilder content = new StringBuilder();
+		int read;
+		while ((read = inputStream.read()) != -1) {
+			content.append((char) read);
+		}
+		return content.toString();
+	}
+
+	private static class RecordingCallback implements RestCallback<Event> {
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+		private volatile Event result;
+		private volatile boolean cancelled;
+
+		@Override
+		public void onSuccess(Event result) {
+			this.result = result;
+			latch.countDown();
+		}
+
+		@Override
+		public void onError(Throwable e) {
+			latch.countDown();
+		}
+
+		@Override
+		public void onCancelled() {
+			cancelled = true;
+			latch.countDown();
+		}
+	}
+}
@@ -17,12 +17,15 @@
 package org.androidannotations.rest.spring.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +34,7 @@ import org.apache.http.Header;
 import org.apache.http.message.BasicHeader;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.ArgumentMatchers;
 import org.robolectric.RobolectricTestRunner;
@@ -197,6 +201,26 @@ public class MyServiceTest {
 		verify(restTemplate).exchange(eq("http://company.com/client/ping"), ArgumentMatchers.<HttpMethod> any(), ArgumentMatchers.<HttpEntity<?>> any(), ArgumentMatchers.<Class<Object>> any());
 	}
 
+	@Test
+	public void constantHeadersAreSharedByCalls() {
+		MyService_ myService = new MyService_(null);
+
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		myService.setRestTemplate(restTemplate);
+
+		myService.getEventsArray("somePlace", 2013);
+		myService.getEventsArray("otherPlace", 2014);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<HttpEntity<?>> entityCaptor = (ArgumentCaptor<HttpEntity<?>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(HttpEntity.class);
+		verify(restTemplate, times(2)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.<HttpMethod> any(), entityCaptor.capture(), ArgumentMatchers.<Class<Object>> any(),
+				ArgumentMatchers.<Map<String, ?>> any());
+
+		List<HttpEntity<?>> entities = entityCaptor.getAllValues();
+		assertSame(entities.get(0), entities.get(1));
+		assertEquals(Collections.singletonList(org.springframework.http.MediaType.APPLICATION_JSON), entities.get(0).getHeaders().getAccept());
+	}
+
 	@Test
 	public void cookieInUrl() {
 		final String xtValue = "1234";
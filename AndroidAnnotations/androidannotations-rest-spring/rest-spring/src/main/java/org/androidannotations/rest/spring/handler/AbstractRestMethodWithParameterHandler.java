@@ -67,6 +67,6 @@ public abstract class AbstractRestMethodWithParameterHandler extends RestMethodH
 			}
 		}
 
-		return restAnnotationHelper.declareHttpEntity(methodBody, entitySentToServer, httpHeaders);
+		return restAnnotationHelper.declareHttpEntity(holder, methodBody, entitySentToServer, httpHeaders);
 	}
 }
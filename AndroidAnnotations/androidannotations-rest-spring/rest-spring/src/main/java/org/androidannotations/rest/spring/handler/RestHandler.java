@@ -31,6 +31,7 @@ import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.handler.BaseGeneratingAnnotationHandler;
 import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.api.SharedRequestFactory;
 import org.androidannotations.rest.spring.helper.RestSpringValidatorHelper;
 import org.androidannotations.rest.spring.holder.RestHolder;
 
@@ -130,6 +131,11 @@ public class RestHandler extends BaseGeneratingAnnotationHandler<RestHolder> {
 			JInvocation requestFactory = codeModelHelper.newBeanOrEBean(requestFactoryType, holder.getInitContextParam());
 			holder.getInit().body().add(invoke(holder.getRestTemplateField(), "setRequestFactory").arg(requestFactory));
 		}
+
+		if (element.getAnnotation(Rest.class).sharedRequestFactory()) {
+			AbstractJClass sharedRequestFactoryClass = getJClass(SharedRequestFactory.class);
+			holder.getInit().body().add(invoke(holder.getRestTemplateField(), "setRequestFactory").arg(sharedRequestFactoryClass.staticInvoke("get")));
+		}
 	}
 
 	private void setResponseErrorHandler(Element element, RestHolder holder) {
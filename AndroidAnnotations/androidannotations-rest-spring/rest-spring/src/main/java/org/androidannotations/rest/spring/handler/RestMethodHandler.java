@@ -16,24 +16,29 @@
  */
 package org.androidannotations.rest.spring.handler;
 
+import static com.helger.jcodemodel.JExpr.lit;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.HTTP_METHOD;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.NESTED_RUNTIME_EXCEPTION;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.RESPONSE_ENTITY;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.handler.BaseAnnotationHandler;
+import org.androidannotations.rest.spring.api.StreamingResponse;
 import org.androidannotations.rest.spring.helper.RestAnnotationHelper;
 import org.androidannotations.rest.spring.helper.RestSpringValidatorHelper;
 import org.androidannotations.rest.spring.holder.RestHolder;
@@ -41,10 +46,10 @@ import org.androidannotations.rest.spring.holder.RestHolder;
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.AbstractJType;
 import com.helger.jcodemodel.IJExpression;
-import com.helger.jcodemodel.JArray;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JCatchBlock;
 import com.helger.jcodemodel.JConditional;
+import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JForEach;
 import com.helger.jcodemodel.JInvocation;
@@ -74,6 +79,7 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 		Set<String> variableNames = restAnnotationHelper.extractUrlVariableNames((ExecutableElement) element);
 		restSpringValidatorHelper.urlVariableNamesExistInParameters((ExecutableElement) element, variableNames, validation);
 		restSpringValidatorHelper.hasAnnotatedAllParameters((ExecutableElement) element, validation);
+		restSpringValidatorHelper.hasValidAsyncAndStreamingReturnType((ExecutableElement) element, validation);
 	}
 
 	@Override
@@ -81,7 +87,10 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 		ExecutableElement executableElement = (ExecutableElement) element;
 		String methodName = element.getSimpleName().toString();
 		AbstractJClass methodReturnClass = getMethodReturnClass(element, holder);
-		boolean methodReturnVoid = executableElement.getReturnType().getKind() == TypeKind.VOID;
+		boolean async = restAnnotationHelper.isAsync(executableElement);
+		TypeMirror resultType = restAnnotationHelper.getResultType(executableElement);
+		AbstractJClass resultClass = async ? codeModelHelper.typeMirrorToJClass(resultType) : methodReturnClass;
+		boolean methodReturnVoid = resultType.getKind() == TypeKind.VOID;
 
 		// Creating method signature
 		JMethod method = holder.getGeneratedClass().method(JMod.PUBLIC, methodReturnClass, methodName);
@@ -89,24 +98,41 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 		SortedMap<String, JVar> params = addMethodParams(executableElement, holder, method);
 		JBlock methodBody = new JBlock().bracesRequired(false).indentRequired(false);
 
-		// RestTemplate exchange() method call
-		JInvocation exchangeCall = JExpr.invoke(holder.getRestTemplateField(), "exchange");
-		exchangeCall.arg(getUrl(element, holder));
-		exchangeCall.arg(getHttpMethod());
-		exchangeCall.arg(getRequestEntity(executableElement, holder, methodBody, params));
-		exchangeCall.arg(getResponseClass(element, holder));
-		IJExpression urlVariables = getUrlVariables(element, holder, methodBody, params);
-		if (urlVariables != null) {
-			exchangeCall.arg(urlVariables);
-		}
+		if (restAnnotationHelper.isStreaming(executableElement)) {
+			// RestTemplate would read and close the body before returning
+			JInvocation streamingCall = getJClass(StreamingResponse.class.getName()).staticInvoke("execute");
+			streamingCall.arg(holder.getRestTemplateField());
+			streamingCall.arg(getUrl(element, holder));
+			streamingCall.arg(getHttpMethod());
+			streamingCall.arg(getRequestEntity(executableElement, holder, methodBody, params));
+			IJExpression urlVariables = getUrlVariables(element, holder, methodBody, params);
+			streamingCall.arg(urlVariables != null ? urlVariables : JExpr._null());
+
+			boolean returnsInputStream = resultClass.fullName().equals(InputStream.class.getName());
+			methodBody._return(returnsInputStream ? streamingCall.invoke("getBody") : streamingCall);
+		} else {
+			// RestTemplate exchange() method call
+			JInvocation exchangeCall = JExpr.invoke(holder.getRestTemplateField(), "exchange");
+			exchangeCall.arg(getUrl(element, holder));
+			exchangeCall.arg(getHttpMethod());
+			exchangeCall.arg(getRequestEntity(executableElement, holder, methodBody, params));
+			exchangeCall.arg(getResponseClass(element, holder));
+			IJExpression urlVariables = getUrlVariables(element, holder, methodBody, params);
+			if (urlVariables != null) {
+				exchangeCall.arg(urlVariables);
+			}
 
-		IJExpression response = setCookies(executableElement, holder, methodBody, exchangeCall);
-		if (methodReturnVoid && response.equals(exchangeCall)) {
-			methodBody.add(exchangeCall);
-		} else if (!methodReturnVoid) {
-			methodBody._return(addResultCallMethod(response, methodReturnClass));
+			IJExpression response = setCookies(executableElement, holder, methodBody, exchangeCall);
+			if (methodReturnVoid && response.equals(exchangeCall)) {
+				methodBody.add(exchangeCall);
+			} else if (!methodReturnVoid) {
+				methodBody._return(addResultCallMethod(response, resultClass));
+			}
 		}
 		methodBody = surroundWithRestTryCatch(holder, methodBody, methodReturnVoid);
+		if (async) {
+			methodBody = executeInBackground(holder, methodBody, methodReturnClass, resultClass);
+		}
 		codeModelHelper.copy(methodBody, method.body());
 	}
 
@@ -118,16 +144,18 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 	protected SortedMap<String, JVar> addMethodParams(ExecutableElement executableElement, RestHolder restHolder, JMethod method) {
 		List<? extends VariableElement> params = executableElement.getParameters();
 		SortedMap<String, JVar> methodParams = new TreeMap<>();
+		// the parameters of the asynchronous methods are used by the callable
+		int paramMods = restAnnotationHelper.isAsync(executableElement) ? JMod.FINAL : JMod.NONE;
 		for (VariableElement parameter : params) {
 			String paramName = parameter.getSimpleName().toString();
 			String paramType = parameter.asType().toString();
 
 			JVar param;
 			if (parameter.asType().getKind().isPrimitive()) {
-				param = method.param(getCodeModel().parseType(paramType), paramName);
+				param = method.param(paramMods, getCodeModel().parseType(paramType), paramName);
 			} else {
 				AbstractJClass parameterClass = codeModelHelper.typeMirrorToJClass(parameter.asType());
-				param = method.param(parameterClass, paramName);
+				param = method.param(paramMods, parameterClass, paramName);
 			}
 			methodParams.put(paramName, param);
 		}
@@ -155,7 +183,7 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 	protected IJExpression getRequestEntity(ExecutableElement element, RestHolder holder, JBlock methodBody, SortedMap<String, JVar> params) {
 		JVar httpHeaders = restAnnotationHelper.declareHttpHeaders(element, holder, methodBody);
 		JVar entitySentToServer = restAnnotationHelper.getEntitySentToServer(element, params);
-		return restAnnotationHelper.declareHttpEntity(methodBody, entitySentToServer, httpHeaders);
+		return restAnnotationHelper.declareHttpEntity(holder, methodBody, entitySentToServer, httpHeaders);
 	}
 
 	protected IJExpression getResponseClass(Element element, RestHolder holder) {
@@ -176,52 +204,60 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 	private IJExpression setCookies(ExecutableElement executableElement, RestHolder restHolder, JBlock methodBody, JInvocation exchangeCall) {
 		String[] settingCookies = restAnnotationHelper.settingCookies(executableElement);
 		if (settingCookies != null) {
-			boolean methodReturnVoid = executableElement.getReturnType().getKind() == TypeKind.VOID;
+			TypeMirror resultType = restAnnotationHelper.getResultType(executableElement);
+			boolean methodReturnVoid = resultType.getKind() == TypeKind.VOID;
 
-			AbstractJClass exchangeResponseClass = restAnnotationHelper.retrieveResponseClass(executableElement.getReturnType(), restHolder);
+			AbstractJClass exchangeResponseClass = restAnnotationHelper.retrieveResponseClass(resultType, restHolder);
 			AbstractJType narrowType = exchangeResponseClass == null || methodReturnVoid ? getCodeModel().VOID : exchangeResponseClass;
 			AbstractJClass responseEntityClass = getJClass(RESPONSE_ENTITY).narrow(narrowType);
 			JVar responseEntity = methodBody.decl(responseEntityClass, "response", exchangeCall);
 
 			// set cookies
 			AbstractJClass stringListClass = getClasses().LIST.narrow(getClasses().STRING);
-			AbstractJClass stringArrayClass = getClasses().STRING.array();
-			JArray cookiesArray = JExpr.newArray(getClasses().STRING);
-			for (String cookie : settingCookies) {
-				cookiesArray.add(JExpr.lit(cookie));
-			}
-			JVar requestedCookiesVar = methodBody.decl(stringArrayClass, "requestedCookies", cookiesArray);
-
 			JInvocation setCookiesList = JExpr.invoke(responseEntity, "getHeaders").invoke("get").arg("Set-Cookie");
 			JVar allCookiesList = methodBody.decl(stringListClass, "allCookies", setCookiesList);
 
-			// for loop over list... add if in string array
+			// a single pass over the headers, comparing the names by length first
 			JForEach forEach = methodBody._if(allCookiesList.ne(JExpr._null()))._then() //
 					.forEach(getClasses().STRING, "rawCookie", allCookiesList);
 			JVar rawCookieVar = forEach.var();
-
 			JBlock forLoopBody = forEach.body();
 
-			JForEach innerForEach = forLoopBody.forEach(getClasses().STRING, "thisCookieName", requestedCookiesVar);
-			JBlock innerBody = innerForEach.body();
-			JBlock thenBlock = innerBody._if(JExpr.invoke(rawCookieVar, "startsWith").arg(innerForEach.var().plus("=")))._then();
+			JVar nameEndVar = forLoopBody.decl(getCodeModel().INT, "nameEnd", rawCookieVar.invoke("indexOf").arg(JExpr.lit('=')));
 
 			// where does the cookie VALUE end?
-			JInvocation valueEnd = rawCookieVar.invoke("indexOf").arg(JExpr.lit(';'));
-			JVar valueEndVar = thenBlock.decl(getCodeModel().INT, "valueEnd", valueEnd);
-			JBlock fixValueEndBlock = thenBlock._if(valueEndVar.eq(JExpr.lit(-1)))._then();
-			fixValueEndBlock.assign(valueEndVar, rawCookieVar.invoke("length"));
+			JVar valueEndVar = forLoopBody.decl(getCodeModel().INT, "valueEnd", rawCookieVar.invoke("indexOf").arg(JExpr.lit(';')));
+			forLoopBody._if(valueEndVar.eq(JExpr.lit(-1)))._then().assign(valueEndVar, rawCookieVar.invoke("length"));
 
-			IJExpression indexOfValue = rawCookieVar.invoke("indexOf").arg("=").plus(JExpr.lit(1));
-			JInvocation cookieValue = rawCookieVar.invoke("substring").arg(indexOfValue).arg(valueEndVar);
-			thenBlock.add(restHolder.getAvailableCookiesField().invoke("put").arg(innerForEach.var()).arg(cookieValue));
-			thenBlock._break();
+			JConditional cookieConditional = null;
+			for (String cookie : settingCookies) {
+				IJExpression isCookie = nameEndVar.eq(JExpr.lit(cookie.length())).cand(rawCookieVar.invoke("startsWith").arg(cookie));
+				cookieConditional = cookieConditional == null ? forLoopBody._if(isCookie) : cookieConditional._elseif(isCookie);
+				JInvocation cookieValue = rawCookieVar.invoke("substring").arg(nameEndVar.plus(JExpr.lit(1))).arg(valueEndVar);
+				cookieConditional._then().add(restHolder.getAvailableCookiesField().invoke("put").arg(cookie).arg(cookieValue));
+			}
 
 			return responseEntity;
 		}
 		return exchangeCall;
 	}
 
+	/**
+	 * Moves the rest execution code into a {@link Callable} executed by a
+	 * RestFuture on the background, whose id is the name of the rest interface.
+	 */
+	private JBlock executeInBackground(RestHolder holder, JBlock block, AbstractJClass methodReturnClass, AbstractJClass resultClass) {
+		JDefinedClass anonymousCallableClass = getCodeModel().anonymousClass(getJClass(Callable.class).narrow(resultClass));
+		JMethod callMethod = anonymousCallableClass.method(JMod.PUBLIC, resultClass, "call");
+		callMethod.annotate(Override.class);
+		codeModelHelper.copy(block, callMethod.body());
+
+		String id = holder.getAnnotatedElement().getQualifiedName().toString();
+		JBlock newBlock = new JBlock().bracesRequired(false).indentRequired(false);
+		newBlock._return(JExpr._new(methodReturnClass).arg(lit(id)).arg(JExpr._new(anonymousCallableClass)).invoke("execute"));
+		return newBlock;
+	}
+
 	/**
 	 * Adds the try/catch around the rest execution code.
 	 *
@@ -21,6 +21,7 @@ import static org.androidannotations.rest.spring.helper.RestSpringClasses.HTTP_H
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.MEDIA_TYPE;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.RESPONSE_ENTITY;
 
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -62,6 +63,8 @@ import org.androidannotations.rest.spring.annotations.RequiresCookie;
 import org.androidannotations.rest.spring.annotations.RequiresCookieInUrl;
 import org.androidannotations.rest.spring.annotations.RequiresHeader;
 import org.androidannotations.rest.spring.annotations.SetsCookie;
+import org.androidannotations.rest.spring.api.RestFuture;
+import org.androidannotations.rest.spring.api.StreamingResponse;
 import org.androidannotations.rest.spring.holder.RestHolder;
 
 import com.helger.jcodemodel.AbstractJClass;
@@ -70,7 +73,9 @@ import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JExpr;
+import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JInvocation;
+import com.helger.jcodemodel.JMod;
 import com.helger.jcodemodel.JVar;
 
 public class RestAnnotationHelper extends TargetAnnotationHelper {
@@ -258,17 +263,26 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 
 		Map<String, String> headersFromAnnotations = getHeadersFromAnnotations(executableElement);
 
-		if (hasMediaTypeDefined || requiresCookies || requiresHeaders || requiresAuth || requiresMultipartHeader || !headersFromAnnotations.isEmpty()) {
+		boolean requiresDynamicHeaders = requiresCookies || requiresHeaders || requiresAuth || requiresMultipartHeader;
+
+		if (!requiresDynamicHeaders && (hasMediaTypeDefined || !headersFromAnnotations.isEmpty())) {
+			// the headers never change, they are built once and shared read-only
+			AbstractJClass httpHeadersClass = getEnvironment().getJClass(HTTP_HEADERS);
+			String fieldName = uniqueFieldName(holder, executableElement.getSimpleName() + "HttpHeaders_");
+			JFieldVar httpHeadersField = holder.getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, httpHeadersClass, fieldName);
+			JBlock staticInit = holder.getGeneratedClass().init().block();
+			JVar staticHttpHeadersVar = declareConstantHttpHeaders(staticInit, mediaType, headersFromAnnotations);
+			staticInit.assign(httpHeadersField, httpHeadersClass.staticInvoke("readOnlyHttpHeaders").arg(staticHttpHeadersVar));
+			return httpHeadersField;
+		}
+
+		if (hasMediaTypeDefined || requiresDynamicHeaders || !headersFromAnnotations.isEmpty()) {
 			// we need the headers
 			httpHeadersVar = body.decl(getEnvironment().getJClass(HTTP_HEADERS), "httpHeaders", JExpr._new(getEnvironment().getJClass(HTTP_HEADERS)));
 		}
 
 		if (hasMediaTypeDefined) {
-			AbstractJClass collectionsClass = getEnvironment().getJClass(CanonicalNameConstants.COLLECTIONS);
-			AbstractJClass mediaTypeClass = getEnvironment().getJClass(MEDIA_TYPE);
-
-			JInvocation mediaTypeListParam = collectionsClass.staticInvoke("singletonList").arg(mediaTypeClass.staticInvoke("parseMediaType").arg(mediaType));
-			body.add(JExpr.invoke(httpHeadersVar, "setAccept").arg(mediaTypeListParam));
+			body.add(JExpr.invoke(httpHeadersVar, "setAccept").arg(parseAcceptedMediaTypes(mediaType)));
 		}
 
 		// Set pre-defined headers here so that they can be overridden by any
@@ -285,8 +299,7 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 			JVar cookiesValueVar = body.decl(stringBuilderClass, "cookiesValue", JExpr._new(stringBuilderClass));
 			for (String cookie : cookies) {
 				JInvocation cookieValue = JExpr.invoke(holder.getAvailableCookiesField(), "get").arg(cookie);
-				JInvocation cookieFormatted = getEnvironment().getClasses().STRING.staticInvoke("format").arg(String.format("%s=%%s;", cookie)).arg(cookieValue);
-				JInvocation appendCookie = JExpr.invoke(cookiesValueVar, "append").arg(cookieFormatted);
+				JInvocation appendCookie = JExpr.invoke(cookiesValueVar, "append").arg(cookie + "=").invoke("append").arg(cookieValue).invoke("append").arg(JExpr.lit(';'));
 				body.add(appendCookie);
 			}
 
@@ -321,6 +334,35 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		return httpHeadersVar;
 	}
 
+	private JVar declareConstantHttpHeaders(JBlock body, String mediaType, Map<String, String> headersFromAnnotations) {
+		AbstractJClass httpHeadersClass = getEnvironment().getJClass(HTTP_HEADERS);
+		JVar httpHeadersVar = body.decl(httpHeadersClass, "httpHeaders", JExpr._new(httpHeadersClass));
+		if (mediaType != null) {
+			// not parsed here, a malformed value must not break the class
+			// initialization
+			body.add(JExpr.invoke(httpHeadersVar, "set").arg("Accept").arg(mediaType));
+		}
+		for (Map.Entry<String, String> header : headersFromAnnotations.entrySet()) {
+			body.add(JExpr.invoke(httpHeadersVar, "set").arg(header.getKey()).arg(header.getValue()));
+		}
+		return httpHeadersVar;
+	}
+
+	private JInvocation parseAcceptedMediaTypes(String mediaType) {
+		AbstractJClass collectionsClass = getEnvironment().getJClass(CanonicalNameConstants.COLLECTIONS);
+		AbstractJClass mediaTypeClass = getEnvironment().getJClass(MEDIA_TYPE);
+		return collectionsClass.staticInvoke("singletonList").arg(mediaTypeClass.staticInvoke("parseMediaType").arg(mediaType));
+	}
+
+	private String uniqueFieldName(RestHolder holder, String baseName) {
+		String fieldName = baseName;
+		int index = 1;
+		while (holder.getGeneratedClass().fields().containsKey(fieldName)) {
+			fieldName = baseName + index++;
+		}
+		return fieldName;
+	}
+
 	public JVar getEntitySentToServer(ExecutableElement element, SortedMap<String, JVar> params) {
 		for (VariableElement parameter : element.getParameters()) {
 			if (parameter.getAnnotation(Body.class) != null) {
@@ -334,6 +376,22 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		return extractParameter(parameter, Path.class);
 	}
 
+	/**
+	 * Declares the entity sent to the server. When it has no body and its
+	 * headers are constant, it is created once and shared by all the calls:
+	 * the entity keeps a read-only copy of these headers.
+	 */
+	public IJExpression declareHttpEntity(RestHolder holder, JBlock body, JVar entitySentToServer, JVar httpHeaders) {
+		if (entitySentToServer == null && httpHeaders instanceof JFieldVar) {
+			AbstractJClass httpEntityClass = getEnvironment().getJClass(HTTP_ENTITY).narrow(Object.class);
+			String fieldName = uniqueFieldName(holder, httpHeaders.name().replace("HttpHeaders_", "RequestEntity_"));
+			JFieldVar httpEntityField = holder.getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, httpEntityClass, fieldName);
+			holder.getGeneratedClass().init().assign(httpEntityField, JExpr._new(httpEntityClass).arg(httpHeaders));
+			return httpEntityField;
+		}
+		return declareHttpEntity(body, entitySentToServer, httpHeaders);
+	}
+
 	public IJExpression declareHttpEntity(JBlock body, JVar entitySentToServer, JVar httpHeaders) {
 		AbstractJType entityType = getEnvironment().getJClass(Object.class);
 
@@ -362,10 +420,50 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		return body.decl(narrowedHttpEntity, "requestEntity", newHttpEntityVarCall);
 	}
 
+	/**
+	 * @return <code>true</code> if the method returns a {@link RestFuture}, and
+	 *         is executed on the background
+	 */
+	public boolean isAsync(ExecutableElement element) {
+		TypeMirror returnType = element.getReturnType();
+		if (returnType.getKind() != TypeKind.DECLARED) {
+			return false;
+		}
+		TypeElement returnElement = (TypeElement) ((DeclaredType) returnType).asElement();
+		return returnElement.getQualifiedName().contentEquals(RestFuture.class.getName());
+	}
+
+	/**
+	 * @return the type of the result of the method, which is the type argument
+	 *         of its {@link RestFuture} if it is asynchronous, and its return
+	 *         type otherwise
+	 */
+	public TypeMirror getResultType(ExecutableElement element) {
+		TypeMirror returnType = element.getReturnType();
+		if (isAsync(element)) {
+			List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+			if (!typeArguments.isEmpty()) {
+				return typeArguments.get(0);
+			}
+			return getElementUtils().getTypeElement(CanonicalNameConstants.OBJECT).asType();
+		}
+		return returnType;
+	}
+
+	/**
+	 * @return <code>true</code> if the result of the method is a
+	 *         {@link StreamingResponse} or an {@link InputStream}, whose body is
+	 *         not read by the method
+	 */
+	public boolean isStreaming(ExecutableElement element) {
+		String resultType = getResultType(element).toString();
+		return resultType.equals(StreamingResponse.class.getName()) || resultType.equals(InputStream.class.getName());
+	}
+
 	public IJExpression getResponseClass(Element element, RestHolder holder) {
 		ExecutableElement executableElement = (ExecutableElement) element;
 		IJExpression responseClassExpr = nullCastedToNarrowedClass(holder);
-		TypeMirror returnType = executableElement.getReturnType();
+		TypeMirror returnType = getResultType(executableElement);
 		if (returnType.getKind() != TypeKind.VOID) {
 			if (getElementUtils().getTypeElement(RestSpringClasses.PARAMETERIZED_TYPE_REFERENCE) != null) {
 				if (returnType.toString().startsWith(RestSpringClasses.RESPONSE_ENTITY)) {
@@ -534,7 +632,7 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 			decoratedFinalClassName = decoratedFinalClassName.replaceAll("\\[\\]", "s");
 			String packageName = holder.getGeneratedClass()._package().name();
 			decoratedFinalClassName = packageName + "." + decoratedFinalClassName;
-			JDefinedClass decoratedJClass = getEnvironment().getDefinedClass(decoratedFinalClassName);
+			JDefinedClass decoratedJClass = getEnvironment().getDefinedClass(decoratedFinalClassName, holder.getAnnotatedElement());
 			decoratedJClass._extends(decoratedSuperClass);
 
 			return decoratedJClass;
@@ -61,6 +61,7 @@ import org.androidannotations.rest.spring.annotations.Path;
 import org.androidannotations.rest.spring.annotations.Post;
 import org.androidannotations.rest.spring.annotations.Put;
 import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.annotations.SetsCookie;
 import org.androidannotations.rest.spring.api.RestClientErrorHandling;
 import org.androidannotations.rest.spring.api.RestClientHeaders;
 import org.androidannotations.rest.spring.api.RestClientRootUrl;
@@ -347,6 +348,10 @@ public class RestSpringValidatorHelper extends ValidatorHelper {
 
 	public void validateRequestFactory(Element element, ElementValidation validation) {
 		validateRestSimpleParameter(element, CLIENT_HTTP_REQUEST_FACTORY, "requestFactory", validation);
+
+		if (element.getAnnotation(Rest.class).sharedRequestFactory() && annotationHelper.extractAnnotationClassParameter(element, annotationHelper.getTarget(), "requestFactory") != null) {
+			validation.addError(element, "The requestFactory and sharedRequestFactory parameters cannot be used together");
+		}
 	}
 
 	public void validateResponseErrorHandler(Element element, ElementValidation validation) {
@@ -457,15 +462,24 @@ public class RestSpringValidatorHelper extends ValidatorHelper {
 		}
 	}
 
+	public void hasValidAsyncAndStreamingReturnType(ExecutableElement element, ElementValidation valid) {
+		if (restAnnotationHelper.isAsync(element) && ((DeclaredType) element.getReturnType()).getTypeArguments().isEmpty()) {
+			valid.addError("%s annotated methods must declare the result type of the returned RestFuture");
+		}
+		if (restAnnotationHelper.isStreaming(element) && element.getAnnotation(SetsCookie.class) != null) {
+			valid.addError("%s annotated methods returning a streamed body cannot be annotated with " + TargetAnnotationHelper.annotationName(SetsCookie.class));
+		}
+	}
+
 	public void hasHttpHeadersReturnType(ExecutableElement element, ElementValidation valid) {
-		String returnType = element.getReturnType().toString();
+		String returnType = restAnnotationHelper.getResultType(element).toString();
 		if (!"org.springframework.http.HttpHeaders".equals(returnType)) {
 			valid.addError("%s annotated methods can only return a HttpHeaders, not " + returnType);
 		}
 	}
 
 	public void hasSetOfHttpMethodReturnType(ExecutableElement element, ElementValidation valid) {
-		TypeMirror returnType = element.getReturnType();
+		TypeMirror returnType = restAnnotationHelper.getResultType(element);
 		String returnTypeString = returnType.toString();
 		if (!"java.util.Set<org.springframework.http.HttpMethod>".equals(returnTypeString)) {
 			valid.addError("%s annotated methods can only return a Set of HttpMethod, not " + returnTypeString);
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring;
+
+import java.io.InputStream;
+
+import org.androidannotations.rest.spring.annotations.Get;
+import org.androidannotations.rest.spring.annotations.Path;
+import org.androidannotations.rest.spring.annotations.Post;
+import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.api.RestFuture;
+import org.androidannotations.rest.spring.api.StreamingResponse;
+import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
+
+@Rest(converters = MappingJacksonHttpMessageConverter.class)
+public interface ClientWithAsyncAndStreamingMethods {
+
+	@Get("/entities/{id}")
+	RestFuture<Entity> getEntity(@Path int id);
+
+	@Post("/entities")
+	RestFuture<Void> ping();
+
+	@Get("/files/{name}")
+	InputStream download(@Path String name);
+
+	@Get("/files/{name}")
+	StreamingResponse downloadResponse(@Path String name);
+
+	@Get("/files/{name}")
+	RestFuture<InputStream> downloadInBackground(@Path String name);
+}
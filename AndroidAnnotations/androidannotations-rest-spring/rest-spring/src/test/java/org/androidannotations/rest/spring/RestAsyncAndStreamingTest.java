@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2016-2019 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring;
+
+import java.io.IOException;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RestAsyncAndStreamingTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(RestAsyncAndStreamingTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void clientWithAsyncAndStreamingMethodsCompiles() {
+		CompileResult result = compileFiles(ClientWithAsyncAndStreamingMethods.class);
+		assertCompilationSuccessful(result);
+	}
+
+	@Test
+	public void clientWithRawRestFutureDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithRawRestFuture.class);
+		assertCompilationErrorOn(ClientWithRawRestFuture.class, "@Get", result);
+	}
+
+	@Test
+	public void clientWithStreamingSetsCookieDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithStreamingSetsCookie.class);
+		assertCompilationErrorOn(ClientWithStreamingSetsCookie.class, "@Get", result);
+	}
+}